@@ -3,8 +3,12 @@ package com.softdinner;
 import io.github.cdimascio.dotenv.Dotenv;
 import org.springframework.boot.*;
 import org.springframework.boot.autoconfigure.*;
+import org.springframework.boot.autoconfigure.jdbc.*;
+import org.springframework.scheduling.annotation.*;
 
-@SpringBootApplication
+// DataSource is only created when softdinner.persistence.backend=jdbc (see JdbcPersistenceConfig)
+@SpringBootApplication(exclude = DataSourceAutoConfiguration.class)
+@EnableScheduling
 public class SoftDinnerApplication {
     public static void main(String[] args) {
         // Load .env.local file if it exists
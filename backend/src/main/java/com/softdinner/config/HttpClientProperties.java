@@ -0,0 +1,49 @@
+package com.softdinner.config;
+
+import lombok.*;
+import org.springframework.boot.context.properties.*;
+
+import java.time.*;
+
+/**
+ * 외부 HTTP 클라이언트(WebClient) 연결 풀 / 타임아웃 설정 (softdinner.http-client.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "softdinner.http-client")
+public class HttpClientProperties {
+
+    private Pool supabase = new Pool();
+    private Pool openai = Pool.llm();
+    private Pool openrouter = Pool.llm();
+
+    @Getter
+    @Setter
+    public static class Pool {
+        // Connection pool
+        private int maxConnections = 100;
+        private int pendingAcquireMaxCount = 500;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        private Duration evictionInterval = Duration.ofSeconds(30);
+
+        // Timeouts
+        private Duration connectTimeout = Duration.ofSeconds(3);
+        private Duration responseTimeout = Duration.ofSeconds(10);
+
+        // Negotiate HTTP/2 over TLS (ALPN), falling back to HTTP/1.1
+        private boolean http2 = false;
+
+        /**
+         * LLM API용 기본값 (응답이 느리고 동시 요청이 적음)
+         */
+        static Pool llm() {
+            Pool pool = new Pool();
+            pool.setMaxConnections(20);
+            pool.setPendingAcquireMaxCount(100);
+            pool.setResponseTimeout(Duration.ofSeconds(60));
+            return pool;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.softdinner.config;
+
+import io.netty.channel.*;
+import lombok.extern.slf4j.*;
+import org.springframework.beans.factory.*;
+import org.springframework.boot.context.properties.*;
+import org.springframework.http.client.reactive.*;
+import org.springframework.stereotype.*;
+import reactor.netty.http.*;
+import reactor.netty.http.client.*;
+import reactor.netty.resources.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * WebClient별 전용 연결 풀(ConnectionProvider)을 만든다.
+ * 풀 지표는 reactor.netty.connection.provider.{total,active,idle,pending}.connections 게이지로 노출된다 (tag name=풀 이름).
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class HttpConnectorFactory implements DisposableBean {
+
+    private final List<ConnectionProvider> providers = new CopyOnWriteArrayList<>();
+
+    public ClientHttpConnector create(String name, HttpClientProperties.Pool pool) {
+        ConnectionProvider provider = ConnectionProvider.builder(name)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictionInterval())
+                .metrics(true)
+                .build();
+        providers.add(provider);
+
+        HttpClient httpClient = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) pool.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(pool.getResponseTimeout());
+        if (pool.isHttp2()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+
+        log.info("HTTP client pool '{}': maxConnections={}, pendingAcquireMaxCount={}, responseTimeout={}, http2={}",
+                name, pool.getMaxConnections(), pool.getPendingAcquireMaxCount(), pool.getResponseTimeout(), pool.isHttp2());
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
+    @Override
+    public void destroy() {
+        providers.forEach(ConnectionProvider::dispose);
+    }
+}
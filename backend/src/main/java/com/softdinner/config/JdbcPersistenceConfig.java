@@ -0,0 +1,36 @@
+package com.softdinner.config;
+
+import com.zaxxer.hikari.*;
+import org.springframework.boot.autoconfigure.condition.*;
+import org.springframework.boot.context.properties.*;
+import org.springframework.context.annotation.*;
+import org.springframework.jdbc.core.*;
+
+import javax.sql.*;
+
+/**
+ * PostgreSQL 직접 연결 설정 (softdinner.persistence.backend=jdbc 일 때만 활성화)
+ * 기본값(postgrest)에서는 DataSource를 만들지 않고 모든 저장소가 Supabase REST API를 사용한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "softdinner.persistence.backend", havingValue = "jdbc")
+public class JdbcPersistenceConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "softdinner.persistence.jdbc.hikari")
+    public HikariDataSource dataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("softdinner-jdbc");
+        // Let the server infer parameter types (uuid, timestamptz, jsonb) from string values,
+        // the same way PostgREST accepts them in JSON bodies
+        dataSource.addDataSourceProperty("stringtype", "unspecified");
+        // Timestamps are returned in UTC like PostgREST
+        dataSource.addDataSourceProperty("options", "-c TimeZone=UTC");
+        return dataSource;
+    }
+
+    @Bean
+    public JdbcTemplate jdbcTemplate(DataSource dataSource) {
+        return new JdbcTemplate(dataSource);
+    }
+}
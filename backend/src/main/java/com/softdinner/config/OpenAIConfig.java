@@ -21,8 +21,9 @@ public class OpenAIConfig {
     private String openRouterApiUrl;
 
     @Bean(name = "openAIWebClient")
-    public WebClient openAIWebClient() {
+    public WebClient openAIWebClient(HttpConnectorFactory connectorFactory, HttpClientProperties httpClientProperties) {
         return WebClient.builder()
+                .clientConnector(connectorFactory.create("openai", httpClientProperties.getOpenai()))
                 .baseUrl(openAIApiUrl)
                 .defaultHeader("Authorization", "Bearer " + openAIApiKey)
                 .defaultHeader("Content-Type", "application/json")
@@ -30,8 +31,9 @@ public class OpenAIConfig {
     }
 
     @Bean(name = "openRouterWebClient")
-    public WebClient openRouterWebClient() {
+    public WebClient openRouterWebClient(HttpConnectorFactory connectorFactory, HttpClientProperties httpClientProperties) {
         return WebClient.builder()
+                .clientConnector(connectorFactory.create("openrouter", httpClientProperties.getOpenrouter()))
                 .baseUrl(openRouterApiUrl)
                 .defaultHeader("Authorization", "Bearer " + openRouterApiKey)
                 .defaultHeader("Content-Type", "application/json")
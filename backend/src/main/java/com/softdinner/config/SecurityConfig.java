@@ -1,6 +1,7 @@
 package com.softdinner.config;
 
 import com.softdinner.security.*;
+import jakarta.servlet.DispatcherType;
 import lombok.*;
 import org.springframework.context.annotation.*;
 import org.springframework.security.config.annotation.method.configuration.*;
@@ -29,12 +30,17 @@ public class SecurityConfig {
                 session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
             .authorizeHttpRequests(auth -> auth
+                // Reactive (Mono) controller results are written on an ASYNC re-dispatch;
+                // the original request was already authenticated and authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 // Public endpoints
                 .requestMatchers("/api/auth/signup", "/api/auth/login").permitAll()
                 .requestMatchers("/api/auth/logout").permitAll() // Logout can be handled client-side
                 .requestMatchers("/api/menus/**").permitAll() // Menu endpoints are public
                 // All other API endpoints require authentication
                 .requestMatchers("/api/**").authenticated()
+                // Metrics are staff-only; health stays public for probes
+                .requestMatchers("/actuator/metrics/**").hasRole("STAFF")
                 // Allow all other requests (for health checks, etc.)
                 .anyRequest().permitAll()
             )
@@ -17,8 +17,9 @@ public class SupabaseConfig {
     private String anonKey;
     
     @Bean
-    public WebClient supabaseWebClient() {
+    public WebClient supabaseWebClient(HttpConnectorFactory connectorFactory, HttpClientProperties httpClientProperties) {
         return WebClient.builder()
+                .clientConnector(connectorFactory.create("supabase", httpClientProperties.getSupabase()))
                 .baseUrl(supabaseUrl != null ? supabaseUrl : "") // NOSONAR - @Value ensures non-null
                 .defaultHeader("apikey", serviceRoleKey)
                 .defaultHeader("Authorization", "Bearer " + serviceRoleKey)
@@ -2,13 +2,14 @@ package com.softdinner.controller.auth;
 
 import com.softdinner.dto.*;
 import com.softdinner.service.AuthService;
+import com.softdinner.security.AuthenticatedUser;
 import jakarta.validation.*;
 import lombok.*;
 import lombok.extern.slf4j.*;
 import org.springframework.http.*;
 import org.springframework.security.access.prepost.*;
 import org.springframework.security.core.*;
-import org.springframework.security.core.userdetails.*;
+import org.springframework.security.core.annotation.*;
 import org.springframework.web.bind.annotation.*;
 
 @Slf4j
@@ -58,10 +59,9 @@ public class AuthController {
 
     @GetMapping("/me")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<UserResponseDTO> getCurrentUser(Authentication authentication) {
+    public ResponseEntity<UserResponseDTO> getCurrentUser(@AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String userId = userDetails.getUsername();
+            String userId = principal.getId();
             
             UserResponseDTO user = authService.getCurrentUser(userId);
             return ResponseEntity.ok(user);
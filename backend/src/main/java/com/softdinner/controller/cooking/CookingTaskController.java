@@ -1,15 +1,15 @@
 package com.softdinner.controller.cooking;
 
-import com.softdinner.repository.OrderRepository;
 import com.softdinner.service.CookingTaskService;
+import com.softdinner.security.AuthenticatedUser;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Slf4j
@@ -18,49 +18,47 @@ import java.util.Map;
 public class CookingTaskController {
 
     private final CookingTaskService cookingTaskService;
-    private final OrderRepository orderRepository;
 
-    public CookingTaskController(CookingTaskService cookingTaskService, OrderRepository orderRepository) {
+    public CookingTaskController(CookingTaskService cookingTaskService) {
         this.cookingTaskService = cookingTaskService;
-        this.orderRepository = orderRepository;
     }
 
     /**
      * Staff의 요리 작업 목록 조회
      */
     @GetMapping
-    @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<?> getCookingTasks(Authentication authentication) {
-        try {
-            if (!isStaff(authentication)) {
-                return ResponseEntity.status(403).body(Map.of("error", "Forbidden: Staff only"));
-            }
-
-            String staffId = getUserId(authentication);
-            List<Map<String, Object>> tasks = cookingTaskService.getCookingTasksByStaff(staffId);
-            
-            return ResponseEntity.ok(Map.of("tasks", tasks));
-        } catch (Exception e) {
-            log.error("Error getting cooking tasks: {}", e.getMessage(), e);
-            return ResponseEntity.status(500).body(Map.of("error", "Failed to get cooking tasks: " + e.getMessage()));
-        }
+    @PreAuthorize("hasRole('STAFF')")
+    public Mono<ResponseEntity<Map<String, Object>>> getCookingTasks(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        String staffId = principal.getId();
+        return cookingTaskService.getCookingTasksByStaff(staffId, cursor, limit)
+                .map(page -> {
+                    // nextCursor가 null이면 마지막 페이지
+                    Map<String, Object> body = new LinkedHashMap<>();
+                    body.put("tasks", page.items());
+                    body.put("nextCursor", page.nextCursor());
+                    return ResponseEntity.ok(body);
+                })
+                .onErrorResume(e -> {
+                    log.error("Error getting cooking tasks: {}", e.getMessage(), e);
+                    return Mono.just(ResponseEntity.status(500).body(Map.of("error", "Failed to get cooking tasks: " + e.getMessage())));
+                });
     }
 
     /**
      * 요리 시작
      */
     @PostMapping("/{taskId}/start")
-    @PreAuthorize("isAuthenticated()")
+    @PreAuthorize("hasRole('STAFF')")
     public ResponseEntity<?> startCooking(
             @PathVariable String taskId,
-            Authentication authentication
+            @AuthenticationPrincipal AuthenticatedUser principal
     ) {
         try {
-            if (!isStaff(authentication)) {
-                return ResponseEntity.status(403).body(Map.of("error", "Forbidden: Staff only"));
-            }
-
-            String staffId = getUserId(authentication);
+            String staffId = principal.getId();
             Map<String, Object> task = cookingTaskService.startCooking(taskId, staffId);
             
             @SuppressWarnings("unchecked")
@@ -84,17 +82,13 @@ public class CookingTaskController {
      * 요리 완료 (재료 자동 차감 포함)
      */
     @PostMapping("/{taskId}/complete")
-    @PreAuthorize("isAuthenticated()")
+    @PreAuthorize("hasRole('STAFF')")
     public ResponseEntity<?> completeCooking(
             @PathVariable String taskId,
-            Authentication authentication
+            @AuthenticationPrincipal AuthenticatedUser principal
     ) {
         try {
-            if (!isStaff(authentication)) {
-                return ResponseEntity.status(403).body(Map.of("error", "Forbidden: Staff only"));
-            }
-
-            String staffId = getUserId(authentication);
+            String staffId = principal.getId();
             Map<String, Object> task = cookingTaskService.completeCooking(taskId, staffId);
             
             return ResponseEntity.ok(Map.of(
@@ -109,32 +103,5 @@ public class CookingTaskController {
             return ResponseEntity.status(500).body(Map.of("error", "Failed to complete cooking: " + e.getMessage()));
         }
     }
-
-    /**
-     * Staff 역할 확인
-     */
-    private boolean isStaff(Authentication authentication) {
-        try {
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String userId = userDetails.getUsername();
-            Map<String, Object> user = orderRepository.getUserById(userId);
-            if (user != null) {
-                String role = (String) user.get("role");
-                return "staff".equalsIgnoreCase(role);
-            }
-            return false;
-        } catch (Exception e) {
-            log.error("Error checking staff role: {}", e.getMessage(), e);
-            return false;
-        }
-    }
-
-    /**
-     * 현재 사용자 ID 가져오기
-     */
-    private String getUserId(Authentication authentication) {
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        return userDetails.getUsername();
-    }
 }
 
@@ -1,15 +1,15 @@
 package com.softdinner.controller.delivery;
 
-import com.softdinner.repository.OrderRepository;
 import com.softdinner.service.DeliveryTaskService;
+import com.softdinner.security.AuthenticatedUser;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Slf4j
@@ -18,49 +18,47 @@ import java.util.Map;
 public class DeliveryTaskController {
 
     private final DeliveryTaskService deliveryTaskService;
-    private final OrderRepository orderRepository;
 
-    public DeliveryTaskController(DeliveryTaskService deliveryTaskService, OrderRepository orderRepository) {
+    public DeliveryTaskController(DeliveryTaskService deliveryTaskService) {
         this.deliveryTaskService = deliveryTaskService;
-        this.orderRepository = orderRepository;
     }
 
     /**
      * Staff의 배달 작업 목록 조회
      */
     @GetMapping
-    @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<?> getDeliveryTasks(Authentication authentication) {
-        try {
-            if (!isStaff(authentication)) {
-                return ResponseEntity.status(403).body(Map.of("error", "Forbidden: Staff only"));
-            }
-
-            String staffId = getUserId(authentication);
-            List<Map<String, Object>> tasks = deliveryTaskService.getDeliveryTasksByStaff(staffId);
-            
-            return ResponseEntity.ok(Map.of("tasks", tasks));
-        } catch (Exception e) {
-            log.error("Error getting delivery tasks: {}", e.getMessage(), e);
-            return ResponseEntity.status(500).body(Map.of("error", "Failed to get delivery tasks: " + e.getMessage()));
-        }
+    @PreAuthorize("hasRole('STAFF')")
+    public Mono<ResponseEntity<Map<String, Object>>> getDeliveryTasks(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        String staffId = principal.getId();
+        return deliveryTaskService.getDeliveryTasksByStaff(staffId, cursor, limit)
+                .map(page -> {
+                    // nextCursor가 null이면 마지막 페이지
+                    Map<String, Object> body = new LinkedHashMap<>();
+                    body.put("tasks", page.items());
+                    body.put("nextCursor", page.nextCursor());
+                    return ResponseEntity.ok(body);
+                })
+                .onErrorResume(e -> {
+                    log.error("Error getting delivery tasks: {}", e.getMessage(), e);
+                    return Mono.just(ResponseEntity.status(500).body(Map.of("error", "Failed to get delivery tasks: " + e.getMessage())));
+                });
     }
 
     /**
      * 배달 시작
      */
     @PostMapping("/{taskId}/start")
-    @PreAuthorize("isAuthenticated()")
+    @PreAuthorize("hasRole('STAFF')")
     public ResponseEntity<?> startDelivery(
             @PathVariable String taskId,
-            Authentication authentication
+            @AuthenticationPrincipal AuthenticatedUser principal
     ) {
         try {
-            if (!isStaff(authentication)) {
-                return ResponseEntity.status(403).body(Map.of("error", "Forbidden: Staff only"));
-            }
-
-            String staffId = getUserId(authentication);
+            String staffId = principal.getId();
             Map<String, Object> task = deliveryTaskService.startDelivery(taskId, staffId);
             
             return ResponseEntity.ok(Map.of("task", task, "message", "배달이 시작되었습니다"));
@@ -77,17 +75,13 @@ public class DeliveryTaskController {
      * 배달 완료
      */
     @PostMapping("/{taskId}/complete")
-    @PreAuthorize("isAuthenticated()")
+    @PreAuthorize("hasRole('STAFF')")
     public ResponseEntity<?> completeDelivery(
             @PathVariable String taskId,
-            Authentication authentication
+            @AuthenticationPrincipal AuthenticatedUser principal
     ) {
         try {
-            if (!isStaff(authentication)) {
-                return ResponseEntity.status(403).body(Map.of("error", "Forbidden: Staff only"));
-            }
-
-            String staffId = getUserId(authentication);
+            String staffId = principal.getId();
             Map<String, Object> task = deliveryTaskService.completeDelivery(taskId, staffId);
             
             return ResponseEntity.ok(Map.of("task", task, "message", "배달이 완료되었습니다"));
@@ -99,32 +93,5 @@ public class DeliveryTaskController {
             return ResponseEntity.status(500).body(Map.of("error", "Failed to complete delivery: " + e.getMessage()));
         }
     }
-
-    /**
-     * Staff 역할 확인
-     */
-    private boolean isStaff(Authentication authentication) {
-        try {
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String userId = userDetails.getUsername();
-            Map<String, Object> user = orderRepository.getUserById(userId);
-            if (user != null) {
-                String role = (String) user.get("role");
-                return "staff".equalsIgnoreCase(role);
-            }
-            return false;
-        } catch (Exception e) {
-            log.error("Error checking staff role: {}", e.getMessage(), e);
-            return false;
-        }
-    }
-
-    /**
-     * 현재 사용자 ID 가져오기
-     */
-    private String getUserId(Authentication authentication) {
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        return userDetails.getUsername();
-    }
 }
 
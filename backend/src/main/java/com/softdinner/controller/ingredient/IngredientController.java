@@ -1,62 +1,39 @@
 package com.softdinner.controller.ingredient;
 
 import com.softdinner.dto.*;
+import com.softdinner.repository.page.Page;
 import com.softdinner.service.IngredientService;
-import com.softdinner.repository.OrderRepository;
+import com.softdinner.security.AuthenticatedUser;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Map;
 
 @Slf4j
 @RestController
 @RequestMapping("/api/ingredients")
 public class IngredientController {
 
+    // 다음 페이지 커서 (마지막 페이지면 헤더 없음)
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final IngredientService ingredientService;
-    private final OrderRepository orderRepository;
 
-    public IngredientController(IngredientService ingredientService, OrderRepository orderRepository) {
+    public IngredientController(IngredientService ingredientService) {
         this.ingredientService = ingredientService;
-        this.orderRepository = orderRepository;
-    }
-
-    /**
-     * 사용자가 staff 역할인지 확인
-     */
-    private boolean isStaff(Authentication authentication) {
-        try {
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String userId = userDetails.getUsername();
-            Map<String, Object> user = orderRepository.getUserById(userId);
-            if (user != null) {
-                String role = (String) user.get("role");
-                return "staff".equalsIgnoreCase(role);
-            }
-            return false;
-        } catch (Exception e) {
-            log.error("Error checking staff role: {}", e.getMessage(), e);
-            return false;
-        }
     }
 
     /**
      * 모든 재료 목록 조회
      */
     @GetMapping
-    @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<IngredientDTO>> getAllIngredients(Authentication authentication) {
-        // 역할 확인은 컨트롤러에서 수동으로 처리
-        if (!isStaff(authentication)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-        }
+    @PreAuthorize("hasRole('STAFF')")
+    public ResponseEntity<List<IngredientDTO>> getAllIngredients(@AuthenticationPrincipal AuthenticatedUser principal) {
         try {
             List<IngredientDTO> ingredients = ingredientService.getAllIngredients();
             return ResponseEntity.ok(ingredients);
@@ -72,19 +49,13 @@ public class IngredientController {
      * 재료 입고 처리
      */
     @PostMapping("/stock")
-    @PreAuthorize("isAuthenticated()")
+    @PreAuthorize("hasRole('STAFF')")
     public ResponseEntity<IngredientDTO> addStock(
             @Valid @RequestBody AddStockRequestDTO request,
-            Authentication authentication
+            @AuthenticationPrincipal AuthenticatedUser principal
     ) {
-        // 역할 확인
-        if (!isStaff(authentication)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-        }
-        
         try {
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String staffId = userDetails.getUsername();
+            String staffId = principal.getId();
 
             IngredientDTO updatedIngredient = ingredientService.addStock(request, staffId);
             return ResponseEntity.ok(updatedIngredient);
@@ -100,20 +71,20 @@ public class IngredientController {
      * 입출고 기록 조회
      */
     @GetMapping("/logs")
-    @PreAuthorize("isAuthenticated()")
+    @PreAuthorize("hasRole('STAFF')")
     public ResponseEntity<List<IngredientLogDTO>> getIngredientLogs(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @RequestParam(required = false) String ingredientId,
+            @RequestParam(required = false) String cursor,
             @RequestParam(required = false, defaultValue = "50") Integer limit
     ) {
-        // 역할 확인
-        if (!isStaff(authentication)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-        }
-        
         try {
-            List<IngredientLogDTO> logs = ingredientService.getIngredientLogs(ingredientId, limit);
-            return ResponseEntity.ok(logs);
+            Page<IngredientLogDTO> logs = ingredientService.getIngredientLogs(ingredientId, cursor, limit);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (logs.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, logs.nextCursor());
+            }
+            return response.body(logs.items());
         } catch (Exception e) {
             log.error("Error getting ingredient logs: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
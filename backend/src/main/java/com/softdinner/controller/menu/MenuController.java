@@ -1,27 +1,53 @@
 package com.softdinner.controller.menu;
 
 import com.softdinner.dto.*;
+import com.softdinner.service.MenuCatalog;
 import com.softdinner.service.MenuService;
-import lombok.*;
 import lombok.extern.slf4j.*;
+import org.springframework.beans.factory.annotation.*;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.*;
 
+import java.time.*;
 import java.util.*;
+import java.util.function.*;
 
+/**
+ * 메뉴 조회 API (공개)
+ * 모든 방문자에게 같은 응답이므로 메뉴 카탈로그 버전을 ETag / Last-Modified로 내려주고,
+ * If-None-Match / If-Modified-Since가 맞으면 본문을 만들지 않고 304를 돌려준다.
+ * 목록 응답은 카탈로그 버전마다 미리 직렬화해 둔 바이트(gzip 포함)를 그대로 쓴다.
+ */
 @Slf4j
 @RestController
 @RequestMapping("/api/menus")
-@RequiredArgsConstructor
 public class MenuController {
 
     private final MenuService menuService;
+    private final MenuCatalog menuCatalog;
+    private final MenuResponses menuResponses;
+    private final CacheControl cacheControl;
+
+    public MenuController(
+            MenuService menuService,
+            MenuCatalog menuCatalog,
+            MenuResponses menuResponses,
+            @Value("${softdinner.menu-cache.max-age-seconds:60}") long maxAgeSeconds,
+            @Value("${softdinner.menu-cache.stale-while-revalidate-seconds:600}") long staleWhileRevalidateSeconds
+    ) {
+        this.menuService = menuService;
+        this.menuCatalog = menuCatalog;
+        this.menuResponses = menuResponses;
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds))
+                .cachePublic()
+                .staleWhileRevalidate(Duration.ofSeconds(staleWhileRevalidateSeconds));
+    }
 
     @GetMapping
-    public ResponseEntity<List<DinnerDTO>> getAllDinners() {
+    public ResponseEntity<byte[]> getAllDinners(WebRequest request) {
         try {
-            List<DinnerDTO> dinners = menuService.findAllDinners();
-            return ResponseEntity.ok(dinners);
+            return serialized(request, menuResponses::dinners);
         } catch (Exception e) {
             log.error("Error fetching all dinners: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -29,15 +55,17 @@ public class MenuController {
     }
 
     @GetMapping("/{dinnerId}")
-    public ResponseEntity<DinnerDTO> getDinnerById(@PathVariable String dinnerId) {
+    public ResponseEntity<DinnerDTO> getDinnerById(@PathVariable String dinnerId, WebRequest request) {
         try {
-            DinnerDTO dinner = menuService.findDinnerById(dinnerId);
+            // 없는 메뉴는 조건부 요청과 무관하게 캐시 헤더 없는 404
+            MenuCatalog.Snapshot catalog = menuCatalog.current();
+            DinnerDTO dinner = menuService.findDinnerById(catalog, dinnerId);
             
             if (dinner == null) {
                 return ResponseEntity.notFound().build();
             }
             
-            return ResponseEntity.ok(dinner);
+            return cacheable(request, catalog, dinner);
         } catch (Exception e) {
             log.error("Error fetching dinner by id: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -45,10 +73,9 @@ public class MenuController {
     }
 
     @GetMapping("/{dinnerId}/items")
-    public ResponseEntity<List<MenuItemDTO>> getMenuItemsByDinnerId(@PathVariable String dinnerId) {
+    public ResponseEntity<byte[]> getMenuItemsByDinnerId(@PathVariable String dinnerId, WebRequest request) {
         try {
-            List<MenuItemDTO> items = menuService.findMenuItemsByDinnerId(dinnerId);
-            return ResponseEntity.ok(items);
+            return serialized(request, catalog -> menuResponses.menuItems(catalog, dinnerId));
         } catch (Exception e) {
             log.error("Error fetching menu items: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -56,14 +83,66 @@ public class MenuController {
     }
 
     @GetMapping("/styles")
-    public ResponseEntity<List<StyleDTO>> getAllStyles() {
+    public ResponseEntity<byte[]> getAllStyles(WebRequest request) {
         try {
-            List<StyleDTO> styles = menuService.findAllStyles();
-            return ResponseEntity.ok(styles);
+            return serialized(request, menuResponses::styles);
         } catch (Exception e) {
             log.error("Error fetching styles: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-}
 
+    /**
+     * 카탈로그 버전으로 조건부 요청 처리 (바뀌지 않았으면 본문 없이 304, ETag/Last-Modified는 checkNotModified가 설정)
+     */
+    private <T> ResponseEntity<T> cacheable(WebRequest request, MenuCatalog.Snapshot catalog, T body) {
+        String etag = "\"" + catalog.version() + "\"";
+        long lastModified = catalog.lastUpdatedAt() != null ? catalog.lastUpdatedAt().toEpochMilli() : -1;
+
+        if (request.checkNotModified(etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().cacheControl(cacheControl).body(body);
+    }
+
+    /**
+     * 미리 직렬화한 JSON 응답 (gzip을 받는 클라이언트에는 gzip 바이트, 인코딩마다 ETag를 구분)
+     */
+    private ResponseEntity<byte[]> serialized(WebRequest request, Function<MenuCatalog.Snapshot, MenuResponses.Payload> payloadOf) {
+        MenuCatalog.Snapshot catalog = menuCatalog.current();
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = "\"" + catalog.version() + (gzip ? "-gzip" : "") + "\"";
+        long lastModified = catalog.lastUpdatedAt() != null ? catalog.lastUpdatedAt().toEpochMilli() : -1;
+
+        if (request.checkNotModified(etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        MenuResponses.Payload payload = payloadOf.apply(catalog);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(payload.gzip());
+        }
+        return response.body(payload.json());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                // gzip;q=0 은 거부
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,85 @@
+package com.softdinner.controller.menu;
+
+import com.fasterxml.jackson.databind.*;
+import com.softdinner.service.MenuCatalog;
+import com.softdinner.service.MenuService;
+import org.springframework.stereotype.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+import java.util.zip.*;
+
+/**
+ * 메뉴 API 응답 본문 캐시
+ * 카탈로그 버전마다 JSON 바이트와 gzip 바이트를 한 번만 만들어 두고,
+ * 같은 버전 동안에는 DTO 변환이나 직렬화 없이 그대로 응답에 쓴다.
+ */
+@Component
+public class MenuResponses {
+
+    // 카탈로그에 없는 디너의 메뉴 항목 (빈 목록) 키: 임의의 경로 값마다 항목이 생기지 않도록 하나로 모음
+    private static final String UNKNOWN_DINNER = "-";
+
+    private final MenuService menuService;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicReference<Entries> entries = new AtomicReference<>(new Entries(0, "", new ConcurrentHashMap<>()));
+
+    public MenuResponses(MenuService menuService, ObjectMapper objectMapper) {
+        this.menuService = menuService;
+        this.objectMapper = objectMapper;
+    }
+
+    public Payload dinners(MenuCatalog.Snapshot catalog) {
+        return payload(catalog, "dinners", () -> menuService.findAllDinners(catalog));
+    }
+
+    public Payload styles(MenuCatalog.Snapshot catalog) {
+        return payload(catalog, "styles", () -> menuService.findAllStyles(catalog));
+    }
+
+    public Payload menuItems(MenuCatalog.Snapshot catalog, String dinnerId) {
+        Map<String, Object> dinner = catalog.findDinner(dinnerId);
+        String key = "items:" + (dinner != null ? dinner.get("id") : UNKNOWN_DINNER);
+        return payload(catalog, key, () -> menuService.findMenuItemsByDinnerId(catalog, dinnerId));
+    }
+
+    private Payload payload(MenuCatalog.Snapshot catalog, String key, Supplier<Object> body) {
+        // 더 새로 읽은 스냅샷만 보관 중인 본문을 교체 (늦게 도착한 이전 스냅샷 요청이 되돌리지 못함)
+        Entries current = entries.updateAndGet(held -> held.generation() >= catalog.generation()
+                ? held
+                : new Entries(catalog.generation(), catalog.version(),
+                        held.version().equals(catalog.version()) ? held.payloads() : new ConcurrentHashMap<>()));
+        if (!current.version().equals(catalog.version())) {
+            // 이미 교체된 이전 버전의 요청은 캐시하지 않고 직접 직렬화
+            return serialize(body.get());
+        }
+        return current.payloads().computeIfAbsent(key, k -> serialize(body.get()));
+    }
+
+    private Payload serialize(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            return new Payload(json, compressed.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize menu response: " + e.getMessage(), e);
+        }
+    }
+
+    private record Entries(long generation, String version, ConcurrentMap<String, Payload> payloads) {
+    }
+
+    /**
+     * 직렬화된 응답 본문 (변경 금지)
+     */
+    public record Payload(byte[] json, byte[] gzip) {
+    }
+}
@@ -1,35 +1,54 @@
 package com.softdinner.controller.order;
 
 import com.softdinner.dto.*;
+import com.softdinner.repository.page.Page;
 import com.softdinner.service.OrderService;
+import com.softdinner.security.AuthenticatedUser;
 import jakarta.validation.Valid;
-import lombok.*;
 import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Subscription;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
 
 import java.util.List;
 
 @Slf4j
 @RestController
 @RequestMapping("/api/orders")
-@RequiredArgsConstructor
 public class OrderController {
 
+    // 다음 페이지 커서 (마지막 페이지면 헤더 없음)
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final OrderService orderService;
+    private final long exportTimeoutMs;
+
+    public OrderController(
+            OrderService orderService,
+            @Value("${softdinner.order-export.timeout-ms:300000}") long exportTimeoutMs
+    ) {
+        this.orderService = orderService;
+        this.exportTimeoutMs = exportTimeoutMs;
+    }
 
     @PostMapping
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<OrderResponseDTO> createOrder(
             @Valid @RequestBody CreateOrderRequestDTO request,
-            Authentication authentication
+            @AuthenticationPrincipal AuthenticatedUser principal
     ) {
         try {
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String userId = userDetails.getUsername();
+            String userId = principal.getId();
 
             OrderResponseDTO response = orderService.createOrder(request, userId);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
@@ -44,57 +63,114 @@ public class OrderController {
 
     @GetMapping
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<OrderHistoryDTO>> getUserOrders(Authentication authentication) {
-        try {
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String userId = userDetails.getUsername();
-            
-            log.debug("Getting orders for user: {}", userId);
+    public Mono<ResponseEntity<List<OrderHistoryDTO>>> getUserOrders(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        String userId = principal.getId();
+        
+        log.debug("Getting orders for user: {}", userId);
 
-            List<OrderHistoryDTO> orders = orderService.getUserOrders(userId);
-            log.debug("Returning {} orders", orders.size());
-            
-            return ResponseEntity.ok(orders);
-        } catch (Exception e) {
-            log.error("Error getting user orders: {}", e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .header("X-Error-Message", e.getMessage())
-                    .build();
-        }
+        return orderService.getUserOrders(userId, cursor, limit)
+                .map(page -> {
+                    log.debug("Returning {} orders", page.items().size());
+                    return okPage(page).body(page.items());
+                })
+                .onErrorResume(e -> {
+                    log.error("Error getting user orders: {}", e.getMessage(), e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .header("X-Error-Message", e.getMessage())
+                            .build());
+                });
     }
 
     @GetMapping("/all")
     @PreAuthorize("hasRole('STAFF')")
-    public ResponseEntity<List<OrderHistoryDTO>> getAllOrders(Authentication authentication) {
-        try {
-            log.debug("Getting all orders for staff");
+    public Mono<ResponseEntity<List<OrderHistoryDTO>>> getAllOrders(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        log.debug("Getting all orders for staff");
 
-            List<OrderHistoryDTO> orders = orderService.getAllOrders();
-            log.debug("Returning {} orders", orders.size());
-            
-            return ResponseEntity.ok(orders);
-        } catch (Exception e) {
-            log.error("Error getting all orders: {}", e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .header("X-Error-Message", e.getMessage())
-                    .build();
-        }
+        return orderService.getAllOrders(cursor, limit)
+                .map(page -> {
+                    log.debug("Returning {} orders", page.items().size());
+                    return okPage(page).body(page.items());
+                })
+                .onErrorResume(e -> {
+                    log.error("Error getting all orders: {}", e.getMessage(), e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .header("X-Error-Message", e.getMessage())
+                            .build());
+                });
+    }
+
+    /**
+     * 전체 주문 내보내기 (NDJSON: 한 줄에 주문 하나, 읽는 대로 바로 전송)
+     * 오래 걸릴 수 있으므로 이 응답에만 softdinner.order-export.timeout-ms를 적용한다.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('STAFF')")
+    public ResponseEntity<ResponseBodyEmitter> exportOrders(@AuthenticationPrincipal AuthenticatedUser principal) {
+        log.debug("Exporting all orders for staff");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(ndjson(orderService.exportAllOrders(), exportTimeoutMs));
+    }
+
+    /**
+     * Flux를 NDJSON으로 쓰는 emitter (한 줄을 다 쓴 뒤에 다음 항목을 요청, 연결이 끊기면 구독 취소)
+     */
+    private static ResponseBodyEmitter ndjson(Flux<?> items, long timeoutMs) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMs);
+        BaseSubscriber<Object> subscriber = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(1);
+            }
+
+            @Override
+            protected void hookOnNext(Object item) {
+                try {
+                    emitter.send(item, MediaType.APPLICATION_JSON);
+                    emitter.send("\n", MediaType.TEXT_PLAIN);
+                    request(1);
+                } catch (IOException e) {
+                    // 클라이언트 연결 끊김
+                    cancel();
+                }
+            }
+
+            @Override
+            protected void hookOnComplete() {
+                emitter.complete();
+            }
+
+            @Override
+            protected void hookOnError(Throwable e) {
+                emitter.completeWithError(e);
+            }
+        };
+        emitter.onTimeout(subscriber::dispose);
+        emitter.onError(e -> subscriber.dispose());
+        // 응답 쓰기는 블로킹이므로 WebClient 이벤트 루프가 아닌 스레드에서 실행
+        items.publishOn(Schedulers.boundedElastic(), 1).subscribe(subscriber);
+        return emitter;
     }
 
     @GetMapping("/{orderId}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<OrderHistoryDTO> getOrderById(@PathVariable String orderId, Authentication authentication) {
+    public ResponseEntity<OrderHistoryDTO> getOrderById(@PathVariable String orderId, @AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String userId = userDetails.getUsername();
+            String userId = principal.getId();
 
             OrderHistoryDTO order = orderService.getOrderById(orderId);
             
             // 주문이 해당 사용자의 것인지 확인 (직원은 모든 주문 조회 가능)
-            // TODO: 직원 권한 체크 추가 필요
-            if (order.getUserId() != null && !order.getUserId().equals(userId)) {
-                // 직원이 아닌 경우 자신의 주문만 조회 가능
-                // 이 부분은 SecurityConfig에서 처리하거나 여기서 체크
+            if (!principal.isStaff() && !userId.equals(order.getUserId())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
             
             return ResponseEntity.ok(order);
@@ -105,5 +181,13 @@ public class OrderController {
                     .build();
         }
     }
+
+    private static ResponseEntity.BodyBuilder okPage(Page<?> page) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return builder;
+    }
 }
 
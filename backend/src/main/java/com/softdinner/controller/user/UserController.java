@@ -2,12 +2,12 @@ package com.softdinner.controller.user;
 
 import com.softdinner.dto.LoyaltyInfoDTO;
 import com.softdinner.service.LoyaltyService;
+import com.softdinner.security.AuthenticatedUser;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @Slf4j
@@ -20,10 +20,9 @@ public class UserController {
 
     @GetMapping("/loyalty")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<LoyaltyInfoDTO> getLoyaltyInfo(Authentication authentication) {
+    public ResponseEntity<LoyaltyInfoDTO> getLoyaltyInfo(@AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String userId = userDetails.getUsername();
+            String userId = principal.getId();
 
             LoyaltyInfoDTO loyaltyInfo = loyaltyService.getLoyaltyInfo(userId);
             return ResponseEntity.ok(loyaltyInfo);
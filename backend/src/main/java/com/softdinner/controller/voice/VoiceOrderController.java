@@ -5,6 +5,7 @@ import com.softdinner.dto.UserResponseDTO;
 import com.softdinner.dto.VoiceChatRequestDTO;
 import com.softdinner.dto.VoiceChatResponseDTO;
 import com.softdinner.dto.VoiceOrderDataDTO;
+import com.softdinner.security.AuthenticatedUser;
 import com.softdinner.service.AuthService;
 import com.softdinner.service.OpenAIService;
 import com.softdinner.service.VoiceOrderService;
@@ -15,7 +16,6 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -48,15 +48,16 @@ public class VoiceOrderController {
             UserResponseDTO user = null;
             String userName = "고객";
 
-            if (auth != null && auth.getPrincipal() instanceof UserDetails userDetails) {
-                String userId = userDetails.getUsername();
-                try {
-                    user = authService.getCurrentUser(userId);
-                    if (user != null && user.getFullName() != null) {
-                        userName = user.getFullName();
-                    }
-                } catch (Exception e) {
-                    logger.warn("사용자 정보 조회 실패, 기본값 사용: {}", e.getMessage());
+            // 인사말에는 이름만 필요하므로 인증 주체 정보로 충분 (추가 DB 조회 없음)
+            if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser principal) {
+                user = UserResponseDTO.builder()
+                        .id(principal.getId())
+                        .fullName(principal.getFullName())
+                        .role(principal.getRole())
+                        .loyaltyTier(principal.getLoyaltyTier())
+                        .build();
+                if (user.getFullName() != null) {
+                    userName = user.getFullName();
                 }
             }
 
@@ -110,9 +111,10 @@ public class VoiceOrderController {
             UserResponseDTO user = null;
             String userName = "고객";
 
-            if (auth != null && auth.getPrincipal() instanceof UserDetails userDetails) {
-                String userId = userDetails.getUsername();
+            if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser principal) {
+                String userId = principal.getId();
 
+                // 주문 완료 시 배송지/결제 정보가 필요하므로 전체 사용자 정보 조회
                 try {
                     user = authService.getCurrentUser(userId);
                     if (user != null && user.getFullName() != null) {
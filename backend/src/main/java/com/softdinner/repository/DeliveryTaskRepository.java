@@ -1,75 +1,51 @@
 package com.softdinner.repository;
 
+import com.softdinner.repository.page.Keyset;
+import com.softdinner.repository.postgrest.PostgrestClient;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 
-import java.util.List;
 import java.util.Map;
 
 @Slf4j
 @Repository
 public class DeliveryTaskRepository {
 
-    private final WebClient supabaseWebClient;
-    private final String supabaseUrl;
-    private final String supabaseServiceRoleKey;
+    private final PostgrestClient postgrest;
 
-    public DeliveryTaskRepository(
-            @Qualifier("supabaseWebClient") WebClient supabaseWebClient,
-            @Qualifier("supabaseUrl") String supabaseUrl,
-            @Qualifier("supabaseServiceRoleKey") String supabaseServiceRoleKey
-    ) {
-        this.supabaseWebClient = supabaseWebClient;
-        this.supabaseUrl = supabaseUrl;
-        this.supabaseServiceRoleKey = supabaseServiceRoleKey;
+    public DeliveryTaskRepository(PostgrestClient postgrest) {
+        this.postgrest = postgrest;
     }
 
+    // 작업 목록 화면에 필요한 주문 컬럼만 embed
+    private static final String TASK_LIST_COLUMNS =
+            "*,orders(id,user_id,order_items,delivery_date,delivery_address,cooking_status)";
+    // 상태 변경 시 권한/상태 확인용
+    private static final String TASK_STATE_COLUMNS = "id,staff_id,status,order_id";
+
     /**
-     * Staff의 배달 작업 목록 조회
+     * Staff의 배달 작업 목록 조회 (최근순, after 다음부터 최대 limit개)
      */
-    @SuppressWarnings("unchecked")
-    public List<Map<String, Object>> getDeliveryTasksByStaff(String staffId) {
-        try {
-            String uri = supabaseUrl + "/rest/v1/delivery_tasks?staff_id=eq." + staffId 
-                    + "&order=created_at.desc"
-                    + "&select=*,orders(*)";
-            
-            Map<String, Object>[] result = supabaseWebClient.get()
-                    .uri(uri)
-                    .header("Authorization", "Bearer " + supabaseServiceRoleKey)
-                    .header("apikey", supabaseServiceRoleKey)
-                    .retrieve()
-                    .bodyToMono(Map[].class)
-                    .block();
-
-            return result != null ? List.of(result) : List.of();
-        } catch (Exception e) {
-            log.error("Error fetching delivery tasks: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to fetch delivery tasks: " + e.getMessage(), e);
-        }
+    public Flux<Map<String, Object>> getDeliveryTasksByStaff(String staffId, Keyset after, int limit) {
+        return postgrest.from("delivery_tasks")
+                .select(TASK_LIST_COLUMNS)
+                .eq("staff_id", staffId)
+                .keysetDesc("created_at", after)
+                .limit(limit)
+                .fetch()
+                .onErrorMap(e -> {
+                    log.error("Error fetching delivery tasks: {}", e.getMessage(), e);
+                    return new RuntimeException("Failed to fetch delivery tasks: " + e.getMessage(), e);
+                });
     }
 
     /**
      * 배달 작업 조회 (ID로)
      */
-    @SuppressWarnings("unchecked")
     public Map<String, Object> getDeliveryTaskById(String taskId) {
         try {
-            String uri = supabaseUrl + "/rest/v1/delivery_tasks?id=eq." + taskId 
-                    + "&select=*,orders(*)";
-            
-            Map<String, Object>[] result = supabaseWebClient.get()
-                    .uri(uri)
-                    .header("Authorization", "Bearer " + supabaseServiceRoleKey)
-                    .header("apikey", supabaseServiceRoleKey)
-                    .retrieve()
-                    .bodyToMono(Map[].class)
-                    .block();
-
-            return result != null && result.length > 0 ? result[0] : null;
+            return postgrest.from("delivery_tasks").select(TASK_STATE_COLUMNS).eq("id", taskId).first();
         } catch (Exception e) {
             log.error("Error fetching delivery task: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to fetch delivery task: " + e.getMessage(), e);
@@ -79,64 +55,12 @@ public class DeliveryTaskRepository {
     /**
      * 배달 작업 상태 업데이트
      */
-    @SuppressWarnings({"unchecked", "null"})
     public Map<String, Object> updateDeliveryTask(String taskId, Map<String, Object> updateData) {
         try {
-            Map<String, Object>[] result = supabaseWebClient.patch()
-                    .uri(supabaseUrl + "/rest/v1/delivery_tasks?id=eq." + taskId)
-                    .header("Authorization", "Bearer " + supabaseServiceRoleKey)
-                    .header("apikey", supabaseServiceRoleKey)
-                    .header("Content-Type", "application/json")
-                    .header("Prefer", "return=representation")
-                    .bodyValue(updateData)
-                    .retrieve()
-                    .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(), response -> {
-                        return response.bodyToMono(String.class)
-                                .flatMap(body -> {
-                                    log.error("Error updating delivery task: {} - {}", response.statusCode(), body);
-                                    String statusText = response.statusCode().toString();
-                                    byte[] bodyBytes = body != null ? body.getBytes() : new byte[0];
-                                    return reactor.core.publisher.Mono.error(WebClientResponseException.create(
-                                            response.statusCode().value(),
-                                            statusText,
-                                            response.headers().asHttpHeaders(),
-                                            bodyBytes,
-                                            java.nio.charset.StandardCharsets.UTF_8
-                                    ));
-                                });
-                    })
-                    .bodyToMono(Map[].class)
-                    .block();
-
-            return result != null && result.length > 0 ? result[0] : null;
+            return postgrest.from("delivery_tasks").eq("id", taskId).update(updateData);
         } catch (Exception e) {
             log.error("Error updating delivery task: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to update delivery task: " + e.getMessage(), e);
         }
     }
-
-    /**
-     * 배달 작업 생성
-     */
-    @SuppressWarnings({"unchecked", "null"})
-    public Map<String, Object> createDeliveryTask(Map<String, Object> taskData) {
-        try {
-            Map<String, Object>[] result = supabaseWebClient.post()
-                    .uri(supabaseUrl + "/rest/v1/delivery_tasks")
-                    .header("Authorization", "Bearer " + supabaseServiceRoleKey)
-                    .header("apikey", supabaseServiceRoleKey)
-                    .header("Content-Type", "application/json")
-                    .header("Prefer", "return=representation")
-                    .bodyValue(taskData)
-                    .retrieve()
-                    .bodyToMono(Map[].class)
-                    .block();
-
-            return result != null && result.length > 0 ? result[0] : null;
-        } catch (Exception e) {
-            log.error("Error creating delivery task: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to create delivery task: " + e.getMessage(), e);
-        }
-    }
 }
-
@@ -1,11 +1,13 @@
 package com.softdinner.repository;
 
+import com.softdinner.repository.page.Keyset;
+import com.softdinner.repository.postgrest.PostgrestClient;
+import com.softdinner.repository.postgrest.PostgrestQuery;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
-import org.springframework.web.reactive.function.client.WebClient;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -13,35 +15,21 @@ import java.util.Map;
 @Repository
 public class IngredientRepository {
 
-    private final WebClient supabaseWebClient;
-    private final String supabaseUrl;
-    private final String supabaseServiceRoleKey;
+    private final PostgrestClient postgrest;
 
-    public IngredientRepository(
-            @Qualifier("supabaseWebClient") WebClient supabaseWebClient,
-            @Qualifier("supabaseUrl") String supabaseUrl,
-            @Qualifier("supabaseServiceRoleKey") String supabaseServiceRoleKey
-    ) {
-        this.supabaseWebClient = supabaseWebClient;
-        this.supabaseUrl = supabaseUrl;
-        this.supabaseServiceRoleKey = supabaseServiceRoleKey;
+    public IngredientRepository(PostgrestClient postgrest) {
+        this.postgrest = postgrest;
     }
 
     /**
      * 모든 재료 목록 조회
      */
-    @SuppressWarnings("unchecked")
     public List<Map<String, Object>> getAllIngredients() {
         try {
-            Map<String, Object>[] result = supabaseWebClient.get()
-                    .uri(supabaseUrl + "/rest/v1/ingredients?order=name.asc")
-                    .header("Authorization", "Bearer " + supabaseServiceRoleKey)
-                    .header("apikey", supabaseServiceRoleKey)
-                    .retrieve()
-                    .bodyToMono(Map[].class)
-                    .block();
-
-            return result != null ? List.of(result) : List.of();
+            return postgrest.from("ingredients")
+                    .select("id,name,quantity,unit,category,created_at,updated_at")
+                    .order("name", true)
+                    .list();
         } catch (Exception e) {
             log.error("Error fetching ingredients: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to fetch ingredients: " + e.getMessage(), e);
@@ -51,21 +39,9 @@ public class IngredientRepository {
     /**
      * 특정 재료 조회
      */
-    @SuppressWarnings("unchecked")
     public Map<String, Object> getIngredientById(String ingredientId) {
         try {
-            Map<String, Object>[] result = supabaseWebClient.get()
-                    .uri(supabaseUrl + "/rest/v1/ingredients?id=eq." + ingredientId)
-                    .header("Authorization", "Bearer " + supabaseServiceRoleKey)
-                    .header("apikey", supabaseServiceRoleKey)
-                    .retrieve()
-                    .bodyToMono(Map[].class)
-                    .block();
-
-            if (result != null && result.length > 0) {
-                return result[0];
-            }
-            return null;
+            return postgrest.from("ingredients").select("id,name,unit,quantity").eq("id", ingredientId).first();
         } catch (Exception e) {
             log.error("Error fetching ingredient by id: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to fetch ingredient: " + e.getMessage(), e);
@@ -75,26 +51,11 @@ public class IngredientRepository {
     /**
      * 재료 수량 업데이트
      */
-    @SuppressWarnings({"unchecked", "null"})
     public Map<String, Object> updateIngredientQuantity(String ingredientId, BigDecimal newQuantity) {
         try {
             Map<String, Object> updateData = Map.of("quantity", newQuantity.toString());
 
-            Map<String, Object>[] result = supabaseWebClient.patch()
-                    .uri(supabaseUrl + "/rest/v1/ingredients?id=eq." + ingredientId)
-                    .header("Authorization", "Bearer " + supabaseServiceRoleKey)
-                    .header("apikey", supabaseServiceRoleKey)
-                    .header("Content-Type", "application/json")
-                    .header("Prefer", "return=representation")
-                    .bodyValue(updateData)
-                    .retrieve()
-                    .bodyToMono(Map[].class)
-                    .block();
-
-            if (result != null && result.length > 0) {
-                return result[0];
-            }
-            return null;
+            return postgrest.from("ingredients").eq("id", ingredientId).update(updateData);
         } catch (Exception e) {
             log.error("Error updating ingredient quantity: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to update ingredient: " + e.getMessage(), e);
@@ -104,24 +65,9 @@ public class IngredientRepository {
     /**
      * 입출고 기록 저장
      */
-    @SuppressWarnings({"unchecked", "null"})
     public Map<String, Object> createIngredientLog(Map<String, Object> logData) {
         try {
-            Map<String, Object>[] result = supabaseWebClient.post()
-                    .uri(supabaseUrl + "/rest/v1/ingredient_logs")
-                    .header("Authorization", "Bearer " + supabaseServiceRoleKey)
-                    .header("apikey", supabaseServiceRoleKey)
-                    .header("Content-Type", "application/json")
-                    .header("Prefer", "return=representation")
-                    .bodyValue(logData)
-                    .retrieve()
-                    .bodyToMono(Map[].class)
-                    .block();
-
-            if (result != null && result.length > 0) {
-                return result[0];
-            }
-            return null;
+            return postgrest.from("ingredient_logs").insert(logData);
         } catch (Exception e) {
             log.error("Error creating ingredient log: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to create ingredient log: " + e.getMessage(), e);
@@ -129,57 +75,40 @@ public class IngredientRepository {
     }
 
     /**
-     * 입출고 기록 조회
+     * 주문 재료 일괄 차감 (deduct_ingredients 함수: 재고가 충분한 재료만 quantity - x로 차감하고 출고 로그를 함께 저장)
+     * @param deductions ingredient_id, quantity, notes
+     * @return 재료별 결과 (ingredient_id, name, unit, quantity, previous_quantity, new_quantity, status)
      */
-    @SuppressWarnings("unchecked")
-    public List<Map<String, Object>> getIngredientLogs(String ingredientId, Integer limit) {
+    public List<Map<String, Object>> deductIngredients(String orderId, String staffId, List<Map<String, Object>> deductions) {
         try {
-            String uri = supabaseUrl + "/rest/v1/ingredient_logs";
-            if (ingredientId != null && !ingredientId.isEmpty()) {
-                uri += "?ingredient_id=eq." + ingredientId;
-            }
-            uri += (ingredientId != null ? "&" : "?") + "order=created_at.desc";
-            if (limit != null && limit > 0) {
-                uri += "&limit=" + limit;
-            }
-
-            Map<String, Object>[] result = supabaseWebClient.get()
-                    .uri(uri)
-                    .header("Authorization", "Bearer " + supabaseServiceRoleKey)
-                    .header("apikey", supabaseServiceRoleKey)
-                    .retrieve()
-                    .bodyToMono(Map[].class)
-                    .block();
-
-            return result != null ? List.of(result) : List.of();
+            Map<String, Object> args = new HashMap<>();
+            args.put("p_order_id", orderId);
+            args.put("p_staff_id", staffId);
+            args.put("p_deductions", deductions);
+            return postgrest.rpcList("deduct_ingredients", args);
         } catch (Exception e) {
-            log.error("Error fetching ingredient logs: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to fetch ingredient logs: " + e.getMessage(), e);
+            log.error("Error deducting ingredients: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to deduct ingredients: " + e.getMessage(), e);
         }
     }
 
     /**
-     * 사용자 이름 조회 (staff_id로)
+     * 입출고 기록 조회 (재료 이름/단위와 담당 직원 이름을 embed, 최근순, after 다음부터 최대 limit개)
      */
-    @SuppressWarnings("unchecked")
-    public String getUserNameById(String userId) {
+    public List<Map<String, Object>> getIngredientLogs(String ingredientId, Keyset after, int limit) {
         try {
-            Map<String, Object>[] result = supabaseWebClient.get()
-                    .uri(supabaseUrl + "/rest/v1/users?id=eq." + userId + "&select=full_name")
-                    .header("Authorization", "Bearer " + supabaseServiceRoleKey)
-                    .header("apikey", supabaseServiceRoleKey)
-                    .retrieve()
-                    .bodyToMono(Map[].class)
-                    .block();
-
-            if (result != null && result.length > 0) {
-                return (String) result[0].get("full_name");
+            PostgrestQuery query = postgrest.from("ingredient_logs")
+                    .select("*,ingredients(name,unit),staff:users!staff_id(full_name)")
+                    .keysetDesc("created_at", after)
+                    .limit(limit);
+            if (ingredientId != null && !ingredientId.isEmpty()) {
+                query.eq("ingredient_id", ingredientId);
             }
-            return null;
+
+            return query.list();
         } catch (Exception e) {
-            log.error("Error fetching user name: {}", e.getMessage(), e);
-            return null;
+            log.error("Error fetching ingredient logs: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to fetch ingredient logs: " + e.getMessage(), e);
         }
     }
 }
-
@@ -0,0 +1,92 @@
+package com.softdinner.repository.jdbc;
+
+import com.softdinner.repository.CookingTaskRepository;
+import com.softdinner.repository.page.Keyset;
+import com.softdinner.repository.postgrest.PostgrestClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CookingTaskRepository의 PostgreSQL 직접 연결 구현 (softdinner.persistence.backend=jdbc)
+ */
+@Slf4j
+@Primary
+@Repository
+@ConditionalOnProperty(name = "softdinner.persistence.backend", havingValue = "jdbc")
+public class JdbcCookingTaskRepository extends CookingTaskRepository {
+
+    // PostgREST 목록 select와 같은 모양: 작업 컬럼 + 화면에 필요한 주문 컬럼을 "orders" 객체로
+    private static final String SELECT_WITH_ORDER =
+            "SELECT t.*, CASE WHEN o.id IS NULL THEN NULL ELSE json_build_object("
+                    + "'id', o.id, 'user_id', o.user_id, 'order_items', o.order_items, "
+                    + "'delivery_date', o.delivery_date, 'delivery_address', o.delivery_address) END AS orders "
+                    + "FROM cooking_tasks t LEFT JOIN orders o ON o.id = t.order_id";
+
+    private final JdbcSupport jdbc;
+
+    public JdbcCookingTaskRepository(PostgrestClient postgrest, JdbcSupport jdbc) {
+        super(postgrest);
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public Flux<Map<String, Object>> getCookingTasksByStaff(String staffId, Keyset after, int limit) {
+        String sql = SELECT_WITH_ORDER + " WHERE t.staff_id = ?"
+                + (after != null ? " AND (t.created_at, t.id) < (?, ?)" : "")
+                + " ORDER BY t.created_at DESC, t.id DESC LIMIT ?";
+        Object[] args = after != null
+                ? new Object[]{staffId, after.at(), after.id(), limit}
+                : new Object[]{staffId, limit};
+        return jdbc.queryFlux(sql, args)
+                .onErrorMap(e -> {
+                    log.error("Error fetching cooking tasks: {}", e.getMessage(), e);
+                    return new RuntimeException("Failed to fetch cooking tasks: " + e.getMessage(), e);
+                });
+    }
+
+    @Override
+    public Map<String, Object> getCookingTaskById(String taskId) {
+        try {
+            return jdbc.queryOne("SELECT id, staff_id, status, order_id FROM cooking_tasks WHERE id = ?", taskId);
+        } catch (Exception e) {
+            log.error("Error fetching cooking task: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to fetch cooking task: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Map<String, Object> updateCookingTask(String taskId, Map<String, Object> updateData) {
+        try {
+            return jdbc.updateById("cooking_tasks", taskId, updateData);
+        } catch (Exception e) {
+            log.error("Error updating cooking task: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to update cooking task: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Map<String, Object> getCookingTaskByOrderId(String orderId) {
+        try {
+            return jdbc.queryOne("SELECT * FROM cooking_tasks WHERE order_id = ?", orderId);
+        } catch (Exception e) {
+            log.error("Error fetching cooking task by order id: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+
+    @Override
+    public Map<String, Object> getOrderById(String orderId) {
+        try {
+            return jdbc.queryOne("SELECT id, order_items FROM orders WHERE id = ?", orderId);
+        } catch (Exception e) {
+            log.error("Error fetching order: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to fetch order: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.softdinner.repository.jdbc;
+
+import com.softdinner.repository.IngredientRepository;
+import com.softdinner.repository.page.Keyset;
+import com.softdinner.repository.postgrest.PostgrestClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * IngredientRepository의 PostgreSQL 직접 연결 구현 (softdinner.persistence.backend=jdbc)
+ */
+@Slf4j
+@Primary
+@Repository
+@ConditionalOnProperty(name = "softdinner.persistence.backend", havingValue = "jdbc")
+public class JdbcIngredientRepository extends IngredientRepository {
+
+    private final JdbcSupport jdbc;
+
+    public JdbcIngredientRepository(PostgrestClient postgrest, JdbcSupport jdbc) {
+        super(postgrest);
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public List<Map<String, Object>> getAllIngredients() {
+        try {
+            return jdbc.query("SELECT id, name, quantity, unit, category, created_at, updated_at FROM ingredients ORDER BY name ASC");
+        } catch (Exception e) {
+            log.error("Error fetching ingredients: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to fetch ingredients: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Map<String, Object> getIngredientById(String ingredientId) {
+        try {
+            return jdbc.queryOne("SELECT id, name, unit, quantity FROM ingredients WHERE id = ?", ingredientId);
+        } catch (Exception e) {
+            log.error("Error fetching ingredient by id: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to fetch ingredient: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Map<String, Object> updateIngredientQuantity(String ingredientId, BigDecimal newQuantity) {
+        try {
+            return jdbc.updateById("ingredients", ingredientId, Map.of("quantity", newQuantity));
+        } catch (Exception e) {
+            log.error("Error updating ingredient quantity: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to update ingredient: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Map<String, Object> createIngredientLog(Map<String, Object> logData) {
+        try {
+            return jdbc.insert("ingredient_logs", logData);
+        } catch (Exception e) {
+            log.error("Error creating ingredient log: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to create ingredient log: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<Map<String, Object>> deductIngredients(String orderId, String staffId, List<Map<String, Object>> deductions) {
+        try {
+            return jdbc.query("SELECT * FROM deduct_ingredients(?::uuid, ?::uuid, ?::jsonb)",
+                    orderId, staffId, jdbc.toJson(deductions));
+        } catch (Exception e) {
+            log.error("Error deducting ingredients: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to deduct ingredients: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<Map<String, Object>> getIngredientLogs(String ingredientId, Keyset after, int limit) {
+        try {
+            List<String> conditions = new ArrayList<>();
+            List<Object> args = new ArrayList<>();
+            if (ingredientId != null && !ingredientId.isEmpty()) {
+                conditions.add("l.ingredient_id = ?");
+                args.add(ingredientId);
+            }
+            if (after != null) {
+                conditions.add("(l.created_at, l.id) < (?, ?)");
+                args.add(after.at());
+                args.add(after.id());
+            }
+            args.add(limit);
+
+            // select=*,ingredients(name,unit),staff:users!staff_id(full_name) 와 같은 모양
+            String sql = "SELECT l.*, json_build_object('name', i.name, 'unit', i.unit) AS ingredients, "
+                    + "CASE WHEN u.id IS NULL THEN NULL ELSE json_build_object('full_name', u.full_name) END AS staff "
+                    + "FROM ingredient_logs l "
+                    + "JOIN ingredients i ON i.id = l.ingredient_id "
+                    + "LEFT JOIN users u ON u.id = l.staff_id"
+                    + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                    + " ORDER BY l.created_at DESC, l.id DESC LIMIT ?";
+
+            return jdbc.query(sql, args.toArray());
+        } catch (Exception e) {
+            log.error("Error fetching ingredient logs: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to fetch ingredient logs: " + e.getMessage(), e);
+        }
+    }
+}
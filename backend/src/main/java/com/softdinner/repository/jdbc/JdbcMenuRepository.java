@@ -0,0 +1,69 @@
+package com.softdinner.repository.jdbc;
+
+import com.softdinner.repository.MenuRepository;
+import com.softdinner.repository.postgrest.*;
+import lombok.extern.slf4j.*;
+import org.springframework.boot.autoconfigure.condition.*;
+import org.springframework.context.annotation.*;
+import org.springframework.stereotype.*;
+
+import java.time.*;
+import java.util.*;
+
+/**
+ * MenuRepository의 PostgreSQL 직접 연결 구현 (softdinner.persistence.backend=jdbc)
+ */
+@Slf4j
+@Primary
+@Repository
+@ConditionalOnProperty(name = "softdinner.persistence.backend", havingValue = "jdbc")
+public class JdbcMenuRepository extends MenuRepository {
+
+    private final JdbcSupport jdbc;
+
+    public JdbcMenuRepository(PostgrestClient postgrest, JdbcSupport jdbc) {
+        super(postgrest);
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public List<Map<String, Object>> findAllDinners() {
+        try {
+            return jdbc.query("SELECT * FROM dinners ORDER BY id");
+        } catch (Exception e) {
+            log.error("Error fetching dinners: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to fetch dinners: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<Map<String, Object>> findAllMenuItems() {
+        try {
+            return jdbc.query("SELECT m.*, CASE WHEN i.id IS NULL THEN NULL ELSE json_build_object('name', i.name, 'unit', i.unit) END AS ingredients "
+                    + "FROM menu_items m LEFT JOIN ingredients i ON i.id = m.ingredient_id ORDER BY m.id");
+        } catch (Exception e) {
+            log.error("Error fetching menu items: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to fetch menu items: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<Map<String, Object>> findAllStyles() {
+        try {
+            return jdbc.query("SELECT * FROM styles ORDER BY id");
+        } catch (Exception e) {
+            log.error("Error fetching styles: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to fetch styles: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Instant findLastUpdatedAt() {
+        Map<String, Object> row = jdbc.queryOne("SELECT GREATEST("
+                + "(SELECT max(updated_at) FROM dinners), "
+                + "(SELECT max(updated_at) FROM styles), "
+                + "(SELECT max(updated_at) FROM menu_items)) AS updated_at");
+        Object updatedAt = row != null ? row.get("updated_at") : null;
+        return updatedAt != null ? OffsetDateTime.parse(updatedAt.toString()).toInstant() : null;
+    }
+}
@@ -0,0 +1,110 @@
+package com.softdinner.repository.jdbc;
+
+import com.softdinner.repository.OrderRepository;
+import com.softdinner.repository.page.Keyset;
+import com.softdinner.repository.postgrest.PostgrestClient;
+import com.softdinner.repository.row.OrderRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * OrderRepository의 PostgreSQL 직접 연결 구현 (softdinner.persistence.backend=jdbc)
+ */
+@Slf4j
+@Primary
+@Repository
+@ConditionalOnProperty(name = "softdinner.persistence.backend", havingValue = "jdbc")
+public class JdbcOrderRepository extends OrderRepository {
+
+    private final JdbcSupport jdbc;
+
+    public JdbcOrderRepository(PostgrestClient postgrest, JdbcSupport jdbc) {
+        super(postgrest);
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> placeOrder(PlaceOrderCommand command) {
+        try {
+            Map<String, Object> row = jdbc.queryOne(
+                    "SELECT place_order(?::uuid, ?, ?, ?::timestamptz, ?, ?::jsonb) AS result",
+                    command.userId(),
+                    command.dinnerId(),
+                    command.styleId(),
+                    command.deliveryDate(),
+                    command.deliveryAddress(),
+                    jdbc.toJson(command.customizations()));
+            return row != null ? (Map<String, Object>) row.get("result") : null;
+        } catch (Exception e) {
+            log.error("Error placing order: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to place order: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Mono<Map<String, String>> findUserFullNames(Collection<String> userIds) {
+        String placeholders = String.join(", ", Collections.nCopies(userIds.size(), "?"));
+        return jdbc.queryFlux("SELECT id, full_name FROM users WHERE full_name IS NOT NULL AND id IN (" + placeholders + ")",
+                        userIds.toArray())
+                .collectMap(user -> (String) user.get("id"), user -> (String) user.get("full_name"));
+    }
+
+    @Override
+    public Flux<OrderRow> getUserOrders(String userId, Keyset after, int limit) {
+        String sql = "SELECT " + OrderRow.COLUMNS + " FROM orders WHERE user_id = ?"
+                + (after != null ? " AND (order_date, id) < (?, ?)" : "")
+                + " ORDER BY order_date DESC, id DESC LIMIT ?";
+        Object[] args = after != null
+                ? new Object[]{userId, after.at(), after.id(), limit}
+                : new Object[]{userId, limit};
+        return jdbc.queryFlux(OrderRow.class, sql, args)
+                .onErrorMap(e -> {
+                    log.error("Error fetching user orders: {}", e.getMessage(), e);
+                    return new RuntimeException("Failed to fetch user orders: " + e.getMessage(), e);
+                });
+    }
+
+    @Override
+    public Flux<OrderRow> getAllOrders(Keyset after, int limit) {
+        String sql = "SELECT " + OrderRow.COLUMNS + " FROM orders"
+                + (after != null ? " WHERE (order_date, id) < (?, ?)" : "")
+                + " ORDER BY order_date DESC, id DESC LIMIT ?";
+        Object[] args = after != null
+                ? new Object[]{after.at(), after.id(), limit}
+                : new Object[]{limit};
+        return jdbc.queryFlux(OrderRow.class, sql, args)
+                .onErrorMap(e -> {
+                    log.error("Error fetching all orders: {}", e.getMessage(), e);
+                    return new RuntimeException("Failed to fetch all orders: " + e.getMessage(), e);
+                });
+    }
+
+    @Override
+    public Map<String, Object> getOrderById(String orderId) {
+        try {
+            return jdbc.queryOne("SELECT * FROM orders WHERE id = ?", orderId);
+        } catch (Exception e) {
+            log.error("Error fetching order by id: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to fetch order: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Map<String, Object> updateOrder(String orderId, Map<String, Object> updateData) {
+        try {
+            return jdbc.updateById("orders", orderId, updateData);
+        } catch (Exception e) {
+            log.error("Error updating order: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to update order: " + e.getMessage(), e);
+        }
+    }
+}
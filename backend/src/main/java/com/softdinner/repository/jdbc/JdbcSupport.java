@@ -0,0 +1,182 @@
+package com.softdinner.repository.jdbc;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.databind.*;
+import lombok.extern.slf4j.*;
+import org.springframework.boot.autoconfigure.condition.*;
+import org.springframework.jdbc.core.*;
+import org.springframework.stereotype.*;
+import reactor.core.publisher.*;
+import reactor.core.scheduler.*;
+
+import java.sql.*;
+import java.time.*;
+import java.time.format.*;
+import java.util.*;
+import java.util.regex.*;
+import java.util.stream.*;
+
+/**
+ * JDBC 저장소 공통 기능
+ * 조회 결과를 PostgREST 응답과 같은 모양의 Map으로 변환한다
+ * (uuid/timestamptz -> 문자열, json/jsonb -> Map/List, 배열 -> List).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "softdinner.persistence.backend", havingValue = "jdbc")
+public class JdbcSupport {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*");
+    // PostgREST와 같은 형식 (예: 2024-05-01T12:30:00.123456+00:00)
+    private static final DateTimeFormatter TIMESTAMPTZ_FORMAT = new DateTimeFormatterBuilder()
+            .append(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+            .appendOffset("+HH:MM", "+00:00")
+            .toFormatter();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final RowMapper<Map<String, Object>> rowMapper = this::mapRow;
+
+    public JdbcSupport(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public List<Map<String, Object>> query(String sql, Object... args) {
+        return jdbcTemplate.query(sql, rowMapper, args);
+    }
+
+    public Map<String, Object> queryOne(String sql, Object... args) {
+        List<Map<String, Object>> rows = query(sql, args);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * Reactive 조회: JDBC 호출은 boundedElastic 스레드에서 실행해 호출한 스레드를 막지 않는다
+     */
+    public Flux<Map<String, Object>> queryFlux(String sql, Object... args) {
+        return Flux.defer(() -> Flux.fromIterable(query(sql, args)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Reactive 조회 후 각 행을 타입이 있는 row 객체로 변환
+     */
+    public <T> Flux<T> queryFlux(Class<T> type, String sql, Object... args) {
+        return queryFlux(sql, args).map(row -> objectMapper.convertValue(row, type));
+    }
+
+    public Mono<Map<String, Object>> queryOneMono(String sql, Object... args) {
+        return Mono.fromCallable(() -> queryOne(sql, args))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * INSERT ... RETURNING * (PostgREST의 Prefer: return=representation과 동일)
+     */
+    public Map<String, Object> insert(String table, Map<String, Object> data) {
+        List<String> columns = new ArrayList<>(data.keySet());
+        columns.forEach(JdbcSupport::checkIdentifier);
+        String sql = "INSERT INTO " + checkIdentifier(table)
+                + " (" + String.join(", ", columns) + ")"
+                + " VALUES (" + columns.stream().map(c -> "?").collect(Collectors.joining(", ")) + ")"
+                + " RETURNING *";
+        return queryOne(sql, toParameters(columns, data));
+    }
+
+    /**
+     * UPDATE ... WHERE id = ? RETURNING *
+     */
+    public Map<String, Object> updateById(String table, String id, Map<String, Object> data) {
+        List<String> columns = new ArrayList<>(data.keySet());
+        columns.forEach(JdbcSupport::checkIdentifier);
+        String sql = "UPDATE " + checkIdentifier(table)
+                + " SET " + columns.stream().map(c -> c + " = ?").collect(Collectors.joining(", "))
+                + " WHERE id = ? RETURNING *";
+        Object[] values = toParameters(columns, data);
+        Object[] args = Arrays.copyOf(values, values.length + 1);
+        args[values.length] = id;
+        return queryOne(sql, args);
+    }
+
+    private Object[] toParameters(List<String> columns, Map<String, Object> data) {
+        return columns.stream().map(c -> toParameter(data.get(c))).toArray();
+    }
+
+    /**
+     * Map/List 값은 JSON 문자열로 전달 (jsonb 컬럼)
+     */
+    private Object toParameter(Object value) {
+        if (value instanceof Map || value instanceof Collection) {
+            return toJson(value);
+        }
+        return value;
+    }
+
+    /**
+     * jsonb 인자용 JSON 문자열 (SQL에서 ?::jsonb로 받는다)
+     */
+    public String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize value to JSON: " + e.getMessage(), e);
+        }
+    }
+
+    private Map<String, Object> mapRow(ResultSet rs, int rowNum) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            row.put(meta.getColumnLabel(i), readColumn(rs, i, meta.getColumnTypeName(i)));
+        }
+        return row;
+    }
+
+    private Object readColumn(ResultSet rs, int index, String typeName) throws SQLException {
+        switch (typeName) {
+            case "uuid":
+                return rs.getString(index);
+            case "timestamptz": {
+                OffsetDateTime value = rs.getObject(index, OffsetDateTime.class);
+                return value != null ? TIMESTAMPTZ_FORMAT.format(value) : null;
+            }
+            case "timestamp": {
+                LocalDateTime value = rs.getObject(index, LocalDateTime.class);
+                return value != null ? value.toString() : null;
+            }
+            case "date": {
+                LocalDate value = rs.getObject(index, LocalDate.class);
+                return value != null ? value.toString() : null;
+            }
+            case "json":
+            case "jsonb":
+                return readJson(rs.getString(index));
+            default:
+                if (typeName.startsWith("_")) {
+                    Array array = rs.getArray(index);
+                    return array != null ? Arrays.asList((Object[]) array.getArray()) : null;
+                }
+                return rs.getObject(index);
+        }
+    }
+
+    private Object readJson(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, Object.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to parse json column: {}", e.getMessage());
+            return json;
+        }
+    }
+
+    private static String checkIdentifier(String identifier) {
+        if (!IDENTIFIER.matcher(identifier).matches()) {
+            throw new IllegalArgumentException("Invalid column or table name: " + identifier);
+        }
+        return identifier;
+    }
+}
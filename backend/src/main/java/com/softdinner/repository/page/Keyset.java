@@ -0,0 +1,50 @@
+package com.softdinner.repository.page;
+
+import java.nio.charset.*;
+import java.time.*;
+import java.time.format.*;
+import java.util.*;
+
+/**
+ * 키셋 페이지네이션 위치: (정렬 시각, id) 내림차순에서 마지막으로 받은 행
+ * 클라이언트에는 base64url로 인코딩한 불투명 커서 문자열로만 전달한다.
+ */
+public record Keyset(String at, String id) {
+
+    // 정렬 컬럼은 NOT NULL (017 마이그레이션): null이면 해석할 수 없는 커서가 만들어지므로 바로 실패
+    public Keyset {
+        Objects.requireNonNull(at, "Keyset timestamp must not be null");
+        Objects.requireNonNull(id, "Keyset id must not be null");
+    }
+
+    public static Keyset of(OffsetDateTime at, String id) {
+        return new Keyset(at.toString(), id);
+    }
+
+    public String encode() {
+        byte[] raw = (at + "|" + id).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * 커서 해석 (비어 있으면 첫 페이지 = null)
+     */
+    public static Keyset decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            String at = raw.substring(0, separator);
+            String id = raw.substring(separator + 1);
+
+            // 필터 값으로 들어가므로 형식을 확인해 둔다
+            OffsetDateTime.parse(at);
+            UUID.fromString(id);
+            return new Keyset(at, id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
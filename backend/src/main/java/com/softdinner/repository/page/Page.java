@@ -0,0 +1,40 @@
+package com.softdinner.repository.page;
+
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * 목록 한 페이지 (nextCursor가 null이면 마지막 페이지)
+ */
+public record Page<T>(List<T> items, String nextCursor) {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 200;
+
+    /**
+     * 요청한 페이지 크기를 1..MAX_SIZE 범위로 맞춘다 (없으면 DEFAULT_SIZE)
+     */
+    public static int size(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(requested, MAX_SIZE);
+    }
+
+    /**
+     * size + 1개까지 조회한 결과로 페이지를 만든다.
+     * 한 행이 더 있으면 이 페이지 마지막 행의 위치가 다음 커서가 된다.
+     */
+    public static <T> Page<T> of(List<T> rows, int size, Function<T, Keyset> keyOf) {
+        if (rows.size() <= size) {
+            return new Page<>(rows, null);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, size));
+        return new Page<>(items, keyOf.apply(items.get(size - 1)).encode());
+    }
+
+    public <R> Page<R> map(Function<T, R> mapper) {
+        return new Page<>(items.stream().map(mapper).collect(Collectors.toList()), nextCursor);
+    }
+}
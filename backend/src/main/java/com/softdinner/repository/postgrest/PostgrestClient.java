@@ -0,0 +1,126 @@
+package com.softdinner.repository.postgrest;
+
+import com.fasterxml.jackson.databind.*;
+import io.micrometer.core.instrument.*;
+import lombok.extern.slf4j.*;
+import org.springframework.beans.factory.annotation.*;
+import org.springframework.core.*;
+import org.springframework.core.io.buffer.*;
+import org.springframework.http.*;
+import org.springframework.http.codec.json.*;
+import org.springframework.stereotype.*;
+import org.springframework.web.reactive.function.client.*;
+import reactor.core.publisher.*;
+
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Supabase PostgREST(/rest/v1) 호출 공통 클라이언트
+ * 인증 헤더, 오류 응답 처리, 응답 디코딩을 한 곳에서 처리한다.
+ * 응답 본문 크기는 softdinner.postgrest.response.size (table, method 태그)로 기록한다.
+ *
+ * <pre>
+ * postgrest.from("orders").eq("user_id", userId).order("order_date", false).fetch(OrderRow.class)
+ * </pre>
+ */
+@Slf4j
+@Component
+public class PostgrestClient {
+
+    private final WebClient supabaseWebClient;
+    private final String supabaseServiceRoleKey;
+    private final Jackson2JsonDecoder decoder;
+    private final MeterRegistry meterRegistry;
+
+    public PostgrestClient(
+            @Qualifier("supabaseWebClient") WebClient supabaseWebClient,
+            @Qualifier("supabaseServiceRoleKey") String supabaseServiceRoleKey,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.supabaseWebClient = supabaseWebClient;
+        this.supabaseServiceRoleKey = supabaseServiceRoleKey;
+        this.decoder = new Jackson2JsonDecoder(objectMapper);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 테이블 조회/변경 시작
+     */
+    public PostgrestQuery from(String table) {
+        return new PostgrestQuery(this, table);
+    }
+
+    /**
+     * DB 함수 호출 (POST /rest/v1/rpc/{function}), 함수가 돌려준 JSON 객체 반환
+     */
+    public Map<String, Object> rpc(String function, Map<String, Object> args) {
+        return executeRows(new PostgrestQuery(this, "rpc/" + function), HttpMethod.POST, args).next().block();
+    }
+
+    /**
+     * 행 집합(RETURNS TABLE)을 돌려주는 DB 함수 호출
+     */
+    public List<Map<String, Object>> rpcList(String function, Map<String, Object> args) {
+        return executeRows(new PostgrestQuery(this, "rpc/" + function), HttpMethod.POST, args).collectList().block();
+    }
+
+    <T> Flux<T> execute(PostgrestQuery query, HttpMethod method, Object body, Class<T> type) {
+        WebClient.RequestBodySpec request = supabaseWebClient.method(method)
+                .uri(query::buildUri)
+                .header("Authorization", "Bearer " + supabaseServiceRoleKey)
+                .header("apikey", supabaseServiceRoleKey)
+                .headers(headers -> query.getHeaders().forEach(headers::set));
+
+        WebClient.RequestHeadersSpec<?> spec = request;
+        if (body != null) {
+            spec = request.contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+        }
+
+        return spec.retrieve()
+                .onStatus(HttpStatusCode::isError, response -> response.bodyToMono(String.class)
+                        .defaultIfEmpty("")
+                        .flatMap(errorBody -> {
+                            log.error("PostgREST {} {} failed: {} - {}",
+                                    method, query.getTable(), response.statusCode(), errorBody);
+                            return Mono.error(WebClientResponseException.create(
+                                    response.statusCode().value(),
+                                    response.statusCode().toString(),
+                                    response.headers().asHttpHeaders(),
+                                    errorBody.getBytes(StandardCharsets.UTF_8),
+                                    StandardCharsets.UTF_8
+                            ));
+                        }))
+                .bodyToFlux(DataBuffer.class)
+                .transform(buffers -> decode(buffers, query, method, type));
+    }
+
+    /**
+     * 응답 바이트를 세면서 그대로 Jackson 디코더에 흘려보낸다 (배열 응답은 행 단위로 디코딩)
+     */
+    private <T> Flux<T> decode(Flux<DataBuffer> buffers, PostgrestQuery query, HttpMethod method, Class<T> type) {
+        AtomicLong size = new AtomicLong();
+        Flux<DataBuffer> counted = buffers
+                .doOnNext(buffer -> size.addAndGet(buffer.readableByteCount()))
+                .doOnComplete(() -> responseSize(query, method).record(size.get()));
+
+        return decoder.decode(counted, ResolvableType.forClass(type), MediaType.APPLICATION_JSON, null)
+                .cast(type);
+    }
+
+    private DistributionSummary responseSize(PostgrestQuery query, HttpMethod method) {
+        return DistributionSummary.builder("softdinner.postgrest.response.size")
+                .description("PostgREST response body size")
+                .baseUnit("bytes")
+                .tag("table", query.getTable())
+                .tag("method", method.name())
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    Flux<Map<String, Object>> executeRows(PostgrestQuery query, HttpMethod method, Object body) {
+        return execute(query, method, body, Map.class).map(row -> (Map<String, Object>) row);
+    }
+}
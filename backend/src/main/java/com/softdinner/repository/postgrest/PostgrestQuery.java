@@ -0,0 +1,165 @@
+package com.softdinner.repository.postgrest;
+
+import com.softdinner.repository.page.*;
+import lombok.*;
+import org.springframework.http.*;
+import org.springframework.web.util.*;
+import reactor.core.publisher.*;
+
+import java.net.*;
+import java.util.*;
+import java.util.stream.*;
+
+/**
+ * PostgREST 쿼리 빌더 (filter, select, order, limit, Prefer)
+ * 필터 값은 URI 변수로 전달되어 항상 인코딩된다.
+ */
+public class PostgrestQuery {
+
+    private final PostgrestClient client;
+    @Getter
+    private final String table;
+    private final List<Map.Entry<String, String>> params = new ArrayList<>();
+    private final List<String> order = new ArrayList<>();
+    @Getter
+    private final Map<String, String> headers = new LinkedHashMap<>();
+
+    PostgrestQuery(PostgrestClient client, String table) {
+        this.client = client;
+        this.table = table;
+    }
+
+    // ---- query
+
+    public PostgrestQuery select(String columns) {
+        params.removeIf(param -> param.getKey().equals("select"));
+        return param("select", columns);
+    }
+
+    public PostgrestQuery eq(String column, Object value) {
+        return filter(column, "eq", value);
+    }
+
+    /**
+     * column=in.(v1,v2,...) - 쉼표/괄호/따옴표가 들어간 값은 큰따옴표로 감싼다
+     */
+    public PostgrestQuery in(String column, Collection<?> values) {
+        String list = values.stream()
+                .map(String::valueOf)
+                .map(PostgrestQuery::quote)
+                .collect(Collectors.joining(",", "(", ")"));
+        return filter(column, "in", list);
+    }
+
+    /**
+     * column=operator.value (예: lt, gte, is, ilike)
+     */
+    public PostgrestQuery filter(String column, String operator, Object value) {
+        return param(column, operator + "." + value);
+    }
+
+    public PostgrestQuery order(String column, boolean ascending) {
+        order.add(column + (ascending ? ".asc" : ".desc"));
+        return this;
+    }
+
+    /**
+     * 키셋 페이지네이션: (column desc, id desc) 순서에서 after 다음 행부터
+     * column <= at AND (column < at OR (column = at AND id < id))
+     * column <= at는 결과를 바꾸지 않지만 (column, id) 인덱스의 범위 조건이 되어 커서 위치부터 읽는다
+     * (or 조건만 있으면 Postgres가 인덱스를 처음부터 읽으면서 필터로 건너뜀)
+     */
+    public PostgrestQuery keysetDesc(String column, Keyset after) {
+        if (after != null) {
+            String at = quoteAlways(after.at());
+            filter(column, "lte", after.at());
+            param("or", "(" + column + ".lt." + at
+                    + ",and(" + column + ".eq." + at + ",id.lt." + quoteAlways(after.id()) + "))");
+        }
+        return order(column, false).order("id", false);
+    }
+
+    public PostgrestQuery limit(int limit) {
+        return param("limit", String.valueOf(limit));
+    }
+
+    public PostgrestQuery param(String name, String value) {
+        params.add(Map.entry(name, value));
+        return this;
+    }
+
+    public PostgrestQuery prefer(String preference) {
+        headers.merge("Prefer", preference, (current, added) -> current + "," + added);
+        return this;
+    }
+
+    // ---- read
+
+    public Flux<Map<String, Object>> fetch() {
+        return client.executeRows(this, HttpMethod.GET, null);
+    }
+
+    public <T> Flux<T> fetch(Class<T> type) {
+        return client.execute(this, HttpMethod.GET, null, type);
+    }
+
+    public Mono<Map<String, Object>> fetchOne() {
+        return fetch().next();
+    }
+
+    public List<Map<String, Object>> list() {
+        List<Map<String, Object>> rows = fetch().collectList().block();
+        return rows != null ? rows : new ArrayList<>();
+    }
+
+    public <T> List<T> list(Class<T> type) {
+        List<T> rows = fetch(type).collectList().block();
+        return rows != null ? rows : new ArrayList<>();
+    }
+
+    public Map<String, Object> first() {
+        return fetchOne().block();
+    }
+
+    // ---- write (Prefer: return=representation, 첫 번째 행 반환)
+
+    public Map<String, Object> insert(Object body) {
+        prefer("return=representation");
+        return client.executeRows(this, HttpMethod.POST, body).next().block();
+    }
+
+    public Map<String, Object> update(Object body) {
+        prefer("return=representation");
+        return client.executeRows(this, HttpMethod.PATCH, body).next().block();
+    }
+
+    public void delete() {
+        client.executeRows(this, HttpMethod.DELETE, null).then().block();
+    }
+
+    URI buildUri(UriBuilder builder) {
+        builder.path("/rest/v1/" + table);
+        Map<String, Object> values = new HashMap<>();
+        List<Map.Entry<String, String>> all = new ArrayList<>(params);
+        if (!order.isEmpty()) {
+            all.add(Map.entry("order", String.join(",", order)));
+        }
+        for (int i = 0; i < all.size(); i++) {
+            builder.queryParam(all.get(i).getKey(), "{v" + i + "}");
+            values.put("v" + i, all.get(i).getValue());
+        }
+        return builder.build(values);
+    }
+
+    private static String quote(String value) {
+        if (value.matches("[^,()\"\\\\]*")) {
+            return value;
+        }
+        return quoteAlways(value);
+    }
+
+    // or=(...) 안에서는 . : 도 예약 문자라서 항상 큰따옴표로 감싼다
+    private static String quoteAlways(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -0,0 +1,41 @@
+package com.softdinner.repository.row;
+
+import com.fasterxml.jackson.annotation.*;
+
+import java.math.*;
+import java.time.*;
+import java.util.*;
+
+/**
+ * orders 테이블 행 (PostgREST/JDBC 응답에서 바로 디코딩)
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record OrderRow(
+        String id,
+        @JsonProperty("user_id") String userId,
+        @JsonProperty("order_date") OffsetDateTime orderDate,
+        @JsonProperty("delivery_date") OffsetDateTime deliveryDate,
+        @JsonProperty("delivery_address") String deliveryAddress,
+        @JsonProperty("order_items") Map<String, Object> orderItems,
+        @JsonProperty("total_price") BigDecimal totalPrice,
+        @JsonProperty("discount_applied") BigDecimal discountApplied,
+        @JsonProperty("final_price") BigDecimal finalPrice,
+        @JsonProperty("payment_status") String paymentStatus,
+        @JsonProperty("delivery_status") String deliveryStatus,
+        @JsonProperty("cooking_status") String cookingStatus
+) {
+
+    /**
+     * 이 record가 사용하는 컬럼만 조회하기 위한 select 목록
+     */
+    public static final String COLUMNS = "id,user_id,order_date,delivery_date,delivery_address,order_items,"
+            + "total_price,discount_applied,final_price,payment_status,delivery_status,cooking_status";
+
+    public String dinnerName() {
+        return orderItems != null ? (String) orderItems.get("dinner_name") : null;
+    }
+
+    public String styleName() {
+        return orderItems != null ? (String) orderItems.get("style_name") : null;
+    }
+}
@@ -0,0 +1,101 @@
+package com.softdinner.security;
+
+import org.springframework.security.core.*;
+import org.springframework.security.core.authority.*;
+import org.springframework.security.core.userdetails.*;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * 요청 단위 인증 주체 (JwtAuthenticationFilter가 한 번 채움)
+ * id와 역할은 토큰/캐시에서 바로 채우고, 이름과 등급은 처음 필요할 때 프로필 캐시에서 한 번만 읽는다.
+ * 컨트롤러는 {@code @AuthenticationPrincipal AuthenticatedUser}로 받아서 사용한다.
+ */
+public class AuthenticatedUser implements UserDetails {
+
+    private final String id;
+    private final String role;
+    private final List<GrantedAuthority> authorities;
+    private final Supplier<UserProfile> profileLoader;
+    private UserProfile profile;
+    private boolean profileLoaded;
+
+    public AuthenticatedUser(String id, String role, Supplier<UserProfile> profileLoader) {
+        this.id = id;
+        this.role = role;
+        // Spring Security expects roles to start with ROLE_
+        this.authorities = role != null
+                ? List.of(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()))
+                : List.of();
+        this.profileLoader = profileLoader;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public boolean isStaff() {
+        return "staff".equalsIgnoreCase(role);
+    }
+
+    public String getFullName() {
+        UserProfile userProfile = profile();
+        return userProfile != null ? userProfile.getFullName() : null;
+    }
+
+    public String getLoyaltyTier() {
+        UserProfile userProfile = profile();
+        return userProfile != null && userProfile.getLoyaltyTier() != null ? userProfile.getLoyaltyTier() : "bronze";
+    }
+
+    private synchronized UserProfile profile() {
+        if (!profileLoaded) {
+            profile = profileLoader.get();
+            profileLoaded = true;
+        }
+        return profile;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return "";
+    }
+
+    /**
+     * 기존 코드와의 호환을 위해 username은 사용자 ID
+     */
+    @Override
+    public String getUsername() {
+        return id;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
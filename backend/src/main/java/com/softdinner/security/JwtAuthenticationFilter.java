@@ -2,31 +2,35 @@ package com.softdinner.security;
 
 import jakarta.servlet.*;
 import jakarta.servlet.http.*;
-import lombok.*;
 import lombok.extern.slf4j.*;
+import org.springframework.beans.factory.annotation.*;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.*;
 import org.springframework.security.core.*;
-import org.springframework.security.core.authority.*;
 import org.springframework.security.core.context.*;
-import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.*;
 import org.springframework.web.filter.*;
-import org.springframework.web.reactive.function.client.*;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import java.io.*;
 import java.util.*;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final WebClient supabaseWebClient;
-    private final String supabaseUrl;
-    private final String supabaseAnonKey;
-    private final String supabaseServiceRoleKey;
+    private final TokenVerificationCache tokenVerificationCache;
+    private final UserProfileCache userProfileCache;
+    private final boolean roleFromToken;
+
+    public JwtAuthenticationFilter(
+            TokenVerificationCache tokenVerificationCache,
+            UserProfileCache userProfileCache,
+            @Value("${softdinner.auth.role-from-token:true}") boolean roleFromToken
+    ) {
+        this.tokenVerificationCache = tokenVerificationCache;
+        this.userProfileCache = userProfileCache;
+        this.roleFromToken = roleFromToken;
+    }
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
@@ -42,37 +46,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String token = authHeader.substring(7);
         
         try {
-            // Verify token with Supabase
-            Map<String, Object> userData = verifyTokenWithSupabase(token);
+            // Verify token signature, expiry and audience (memoized per token until shortly before exp)
+            VerifiedToken verifiedToken = tokenVerificationCache.verify(token);
             
-            if (userData != null) {
-                String userId = (String) userData.get("id");
-                
-                // Get user role from database
-                List<GrantedAuthority> authorities = new ArrayList<>();
-                try {
-                    Map<String, Object> userInfo = getUserFromDatabase(userId);
-                    if (userInfo != null) {
-                        String role = (String) userInfo.get("role");
-                        if (role != null) {
-                            // Spring Security expects roles to start with ROLE_
-                            authorities.add(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()));
-                            log.debug("User {} has role: {}", userId, role);
-                        }
-                    }
-                } catch (Exception e) {
-                    log.warn("Failed to fetch user role for {}: {}", userId, e.getMessage());
-                }
+            if (verifiedToken != null) {
+                // Role from app_metadata claim when present, otherwise cached database lookup
+                AuthenticatedUser principal = createPrincipal(verifiedToken);
                 
                 // Create authentication
-                UserDetails userDetails = User.builder()
-                        .username(userId)
-                        .password("")
-                        .authorities(authorities)
-                        .build();
-                
                 Authentication authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities()
+                        principal, null, principal.getAuthorities()
                 );
                 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -85,51 +68,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private Map<String, Object> verifyTokenWithSupabase(String token) {
-        try {
-            // Call Supabase Auth API to verify token
-            // Use anon key for token verification (same as login)
-            @SuppressWarnings("unchecked")
-            Map<String, Object> response = supabaseWebClient.get()
-                    .uri(supabaseUrl + "/auth/v1/user")
-                    .header("Authorization", "Bearer " + token)
-                    .header("apikey", supabaseAnonKey) // Use anon key for token verification
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .block();
-            
-            return response;
-        } catch (WebClientResponseException e) {
-            // 403 Forbidden은 인증되지 않은 요청이거나 만료된 토큰일 수 있음 (정상적인 경우)
-            if (e.getStatusCode().value() == 403 || e.getStatusCode().value() == 401) {
-                log.debug("Token verification failed (unauthorized/forbidden): {}", e.getMessage());
-            } else {
-                log.warn("Error verifying token with Supabase (status {}): {}", 
-                        e.getStatusCode().value(), e.getMessage());
-            }
-            return null;
-        } catch (Exception e) {
-            log.warn("Error verifying token with Supabase: {}", e.getMessage());
-            return null;
-        }
-    }
-
-    private Map<String, Object> getUserFromDatabase(String userId) {
-        try {
-            @SuppressWarnings("unchecked")
-            Map<String, Object>[] result = supabaseWebClient.get()
-                    .uri(supabaseUrl + "/rest/v1/users?id=eq." + userId)
-                    .header("Authorization", "Bearer " + supabaseServiceRoleKey)
-                    .header("apikey", supabaseServiceRoleKey)
-                    .retrieve()
-                    .bodyToMono(Map[].class)
-                    .block();
-            
-            return result != null && result.length > 0 ? result[0] : null;
-        } catch (Exception e) {
-            log.warn("Error fetching user from database: {}", e.getMessage());
-            return null;
+    private AuthenticatedUser createPrincipal(VerifiedToken verifiedToken) {
+        String userId = verifiedToken.getUserId();
+        String role = roleFromToken ? verifiedToken.getAppMetadataRole() : null;
+        if (role != null && !"staff".equalsIgnoreCase(role)) {
+            // Name and tier are loaded from the profile cache only if something reads them
+            return new AuthenticatedUser(userId, role, () -> userProfileCache.getProfile(userId));
         }
+        // Staff claims are confirmed against the cached users row, so a demoted staff member
+        // loses staff authority within the profile cache TTL instead of at token expiry
+        UserProfile profile = userProfileCache.getProfile(userId);
+        return new AuthenticatedUser(userId, profile != null ? profile.getRole() : null, () -> profile);
     }
 }
 
@@ -0,0 +1,246 @@
+package com.softdinner.security;
+
+import com.fasterxml.jackson.databind.*;
+import io.jsonwebtoken.*;
+import io.jsonwebtoken.security.*;
+import lombok.extern.slf4j.*;
+import org.springframework.beans.factory.annotation.*;
+import org.springframework.scheduling.annotation.*;
+import org.springframework.stereotype.*;
+import org.springframework.web.reactive.function.client.*;
+
+import javax.crypto.*;
+import java.nio.charset.*;
+import java.security.*;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Supabase 액세스 토큰 검증기
+ * 서명(JWKS 또는 레거시 HS256 시크릿), 만료, audience를 로컬에서 확인하고
+ * 서명 키를 알 수 없는 경우에만 Supabase Auth API(/auth/v1/user)로 원격 검증한다.
+ * 토큰이 확실히 유효하지 않으면 null을 반환하고, 유효한지 판단할 수 없으면
+ * (Supabase 장애, 타임아웃, 알 수 없는 서명 키) {@link VerificationUnavailableException}을 던진다.
+ */
+@Slf4j
+@Component
+public class SupabaseJwtVerifier {
+
+    private static final String JWKS_PATH = "/auth/v1/.well-known/jwks.json";
+    private static final long ON_DEMAND_REFRESH_INTERVAL_MS = 60_000L;
+
+    private final WebClient supabaseWebClient;
+    private final String supabaseUrl;
+    private final String supabaseAnonKey;
+    private final ObjectMapper objectMapper;
+    private final boolean remoteFallback;
+    private final SecretKey hmacKey;
+    private final JwtParser parser;
+
+    // kid -> 공개키 (백그라운드에서 주기적으로 교체)
+    private volatile Map<String, Key> signingKeys = Map.of();
+    private final AtomicLong lastKeyRefreshAt = new AtomicLong();
+
+    public SupabaseJwtVerifier(
+            @Qualifier("supabaseWebClient") WebClient supabaseWebClient,
+            @Qualifier("supabaseUrl") String supabaseUrl,
+            @Qualifier("supabaseAnonKey") String supabaseAnonKey,
+            ObjectMapper objectMapper,
+            @Value("${supabase.jwt.secret:}") String jwtSecret,
+            @Value("${supabase.jwt.audience:authenticated}") String audience,
+            @Value("${supabase.jwt.clock-skew-seconds:30}") long clockSkewSeconds,
+            @Value("${supabase.jwt.remote-fallback:true}") boolean remoteFallback
+    ) {
+        this.supabaseWebClient = supabaseWebClient;
+        this.supabaseUrl = supabaseUrl;
+        this.supabaseAnonKey = supabaseAnonKey;
+        this.objectMapper = objectMapper;
+        this.remoteFallback = remoteFallback;
+        this.hmacKey = createHmacKey(jwtSecret);
+        this.parser = Jwts.parser()
+                .keyLocator(new SigningKeyLocator())
+                .requireAudience(audience)
+                .clockSkewSeconds(clockSkewSeconds)
+                .build();
+    }
+
+    /**
+     * 토큰 검증
+     * @return 검증된 토큰 정보, 유효하지 않으면 null
+     * @throws VerificationUnavailableException 지금은 유효한지 판단할 수 없는 경우
+     */
+    public VerifiedToken verify(String token) {
+        try {
+            return verifyLocally(token);
+        } catch (UnknownSigningKeyException e) {
+            // 키가 교체되었을 수 있으므로 JWKS를 다시 받아서 한 번 더 시도
+            if (refreshSigningKeysIfStale()) {
+                try {
+                    return verifyLocally(token);
+                } catch (UnknownSigningKeyException retryFailure) {
+                    log.debug("Signing key still unknown after JWKS refresh: {}", retryFailure.getMessage());
+                } catch (JwtException | IllegalArgumentException retryFailure) {
+                    log.debug("Token rejected: {}", retryFailure.getMessage());
+                    return null;
+                }
+            }
+            if (!remoteFallback) {
+                // JWKS를 아직 못 받았을 수도 있으므로 거절로 확정하지 않음
+                throw new VerificationUnavailableException(
+                        "Unknown signing key and remote fallback disabled: " + e.getMessage(), e);
+            }
+            return verifyRemotely(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Token rejected: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private VerifiedToken verifyLocally(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (claims.getSubject() == null || claims.getExpiration() == null) {
+            throw new MalformedJwtException("Token is missing sub or exp claim");
+        }
+        return new VerifiedToken(claims.getSubject(), claims.getExpiration().toInstant(), claims);
+    }
+
+    /**
+     * Supabase Auth API로 원격 검증 (서명 키를 알 수 없을 때만 사용)
+     * 401/403만 거절로 확정하고, 그 밖의 오류 응답이나 연결 실패는 판단 불가로 던진다.
+     */
+    @SuppressWarnings("unchecked")
+    private VerifiedToken verifyRemotely(String token) {
+        try {
+            // Use anon key for token verification (same as login)
+            Map<String, Object> user = supabaseWebClient.get()
+                    .uri(supabaseUrl + "/auth/v1/user")
+                    .header("Authorization", "Bearer " + token)
+                    .header("apikey", supabaseAnonKey)
+                    .retrieve()
+                    .bodyToMono(Map.class)
+                    .block();
+
+            if (user == null || user.get("id") == null) {
+                return null;
+            }
+            return new VerifiedToken((String) user.get("id"), readExpiration(token), user);
+        } catch (WebClientResponseException e) {
+            // 403 Forbidden은 인증되지 않은 요청이거나 만료된 토큰일 수 있음 (정상적인 경우)
+            if (e.getStatusCode().value() == 403 || e.getStatusCode().value() == 401) {
+                log.debug("Token verification failed (unauthorized/forbidden): {}", e.getMessage());
+                return null;
+            }
+            throw new VerificationUnavailableException(
+                    "Supabase token verification failed with status " + e.getStatusCode().value(), e);
+        } catch (Exception e) {
+            throw new VerificationUnavailableException("Failed to verify token with Supabase: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Supabase JWKS 주기적 갱신 (키 로테이션 대응)
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${supabase.jwt.jwks-refresh-interval-ms:600000}")
+    public void refreshSigningKeys() {
+        if (supabaseUrl == null || supabaseUrl.isBlank()) {
+            return;
+        }
+        lastKeyRefreshAt.set(System.currentTimeMillis());
+        try {
+            String json = supabaseWebClient.get()
+                    .uri(supabaseUrl + JWKS_PATH)
+                    .header("apikey", supabaseAnonKey)
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .block();
+
+            if (json == null || json.isBlank()) {
+                return;
+            }
+
+            JwkSet jwkSet = Jwks.setParser().ignoreUnsupported(true).build().parse(json);
+            Map<String, Key> keys = new HashMap<>();
+            for (Jwk<?> jwk : jwkSet.getKeys()) {
+                if (jwk.getId() != null) {
+                    keys.put(jwk.getId(), jwk.toKey());
+                }
+            }
+            signingKeys = Map.copyOf(keys);
+            log.debug("Loaded {} Supabase signing keys", keys.size());
+        } catch (Exception e) {
+            log.warn("Failed to load Supabase JWKS: {}", e.getMessage());
+        }
+    }
+
+    private boolean refreshSigningKeysIfStale() {
+        long last = lastKeyRefreshAt.get();
+        long now = System.currentTimeMillis();
+        if (now - last < ON_DEMAND_REFRESH_INTERVAL_MS || !lastKeyRefreshAt.compareAndSet(last, now)) {
+            return false;
+        }
+        refreshSigningKeys();
+        return true;
+    }
+
+    /**
+     * 서명 검증 없이 exp 클레임만 읽음 (원격 검증을 통과한 토큰에만 사용)
+     */
+    private Instant readExpiration(String token) {
+        try {
+            String[] parts = token.split("\\.");
+            byte[] payload = Base64.getUrlDecoder().decode(parts[1]);
+            JsonNode exp = objectMapper.readTree(payload).get("exp");
+            return exp != null && exp.canConvertToLong() ? Instant.ofEpochSecond(exp.asLong()) : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static SecretKey createHmacKey(String jwtSecret) {
+        if (jwtSecret == null || jwtSecret.isBlank()) {
+            return null;
+        }
+        try {
+            return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        } catch (WeakKeyException e) {
+            log.warn("Ignoring supabase.jwt.secret: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private class SigningKeyLocator extends LocatorAdapter<Key> {
+        @Override
+        protected Key locate(JwsHeader header) {
+            String algorithm = header.getAlgorithm();
+            if (algorithm != null && algorithm.startsWith("HS")) {
+                if (hmacKey == null) {
+                    throw new UnknownSigningKeyException("No HMAC secret configured for " + algorithm);
+                }
+                return hmacKey;
+            }
+
+            String keyId = header.getKeyId();
+            Key key = keyId != null ? signingKeys.get(keyId) : null;
+            if (key == null) {
+                throw new UnknownSigningKeyException("Unknown signing key id: " + keyId);
+            }
+            return key;
+        }
+    }
+
+    private static class UnknownSigningKeyException extends RuntimeException {
+        UnknownSigningKeyException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * 토큰이 유효한지 지금은 판단할 수 없음 (거절 캐시에 넣으면 안 되는 실패)
+     */
+    public static class VerificationUnavailableException extends RuntimeException {
+        VerificationUnavailableException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
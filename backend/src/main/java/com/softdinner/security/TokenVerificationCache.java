@@ -0,0 +1,205 @@
+package com.softdinner.security;
+
+import com.fasterxml.jackson.databind.*;
+import com.github.benmanes.caffeine.cache.*;
+import io.micrometer.core.instrument.*;
+import io.micrometer.core.instrument.binder.cache.*;
+import lombok.extern.slf4j.*;
+import org.springframework.beans.factory.annotation.*;
+import org.springframework.stereotype.*;
+
+import java.nio.charset.*;
+import java.security.*;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.regex.*;
+
+/**
+ * 토큰 검증 결과 캐시 (토큰 해시 기준)
+ * 같은 토큰에 대한 동시 검증은 진행 중인 하나의 결과를 공유하고(single-flight),
+ * 성공한 결과는 토큰 만료 직전까지 재사용한다.
+ * 형식이 잘못되었거나 이미 만료된 토큰은 검증기 호출 없이 거절하고,
+ * 거절된 토큰 해시는 잠시 기억해 같은 토큰이 반복되어도 Supabase 호출로 이어지지 않게 한다.
+ * Supabase 장애처럼 검증 자체를 못 한 경우는 거절로 기억하지 않는다 (장애가 끝나면 바로 다시 검증).
+ */
+@Slf4j
+@Component
+public class TokenVerificationCache {
+
+    // exp를 알 수 없는 토큰(원격 검증)의 최대 보관 시간
+    private static final Duration UNKNOWN_EXPIRY_TTL = Duration.ofSeconds(60);
+    // header.payload.signature (base64url)
+    private static final Pattern JWT_PATTERN = Pattern.compile("[A-Za-z0-9_-]+\\.([A-Za-z0-9_-]+)\\.[A-Za-z0-9_-]+");
+
+    private final SupabaseJwtVerifier supabaseJwtVerifier;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Duration expiryMargin;
+    private final long clockSkewSeconds;
+    private final Cache<String, VerifiedToken> verified;
+    private final Cache<String, Boolean> rejected;
+    // 진행 중인 검증 (같은 토큰의 동시 요청이 결과를 공유; 끝나면 제거)
+    private final ConcurrentMap<String, CompletableFuture<VerifiedToken>> inFlight = new ConcurrentHashMap<>();
+
+    public TokenVerificationCache(
+            SupabaseJwtVerifier supabaseJwtVerifier,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${supabase.jwt.cache.max-size:10000}") long maxSize,
+            @Value("${supabase.jwt.cache.expiry-margin-seconds:10}") long expiryMarginSeconds,
+            @Value("${supabase.jwt.clock-skew-seconds:30}") long clockSkewSeconds,
+            @Value("${supabase.jwt.negative-cache.max-size:10000}") long rejectedMaxSize,
+            @Value("${supabase.jwt.negative-cache.ttl-seconds:30}") long rejectedTtlSeconds
+    ) {
+        this.supabaseJwtVerifier = supabaseJwtVerifier;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.expiryMargin = Duration.ofSeconds(expiryMarginSeconds);
+        this.clockSkewSeconds = clockSkewSeconds;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "auth.token.verifications");
+        this.rejected = Caffeine.newBuilder()
+                .maximumSize(rejectedMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(rejectedTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, rejected, "auth.token.rejections");
+    }
+
+    /**
+     * 토큰 검증 (캐시 적중 시 검증 생략, 동시 요청은 하나의 검증 결과를 공유)
+     * @return 검증된 토큰 정보, 유효하지 않으면 null
+     */
+    public VerifiedToken verify(String token) {
+        // 1. 구조/만료 사전 확인 (서명 검증 없이 가능한 거절)
+        String invalidReason = precheck(token);
+        if (invalidReason != null) {
+            reject(invalidReason);
+            return null;
+        }
+
+        // 2. 최근에 거절된 토큰이면 다시 검증하지 않음
+        String key = hash(token);
+        if (rejected.getIfPresent(key) != null) {
+            reject("recently_rejected");
+            return null;
+        }
+
+        VerifiedToken verifiedToken;
+        try {
+            verifiedToken = verifyShared(key, token);
+        } catch (SupabaseJwtVerifier.VerificationUnavailableException e) {
+            log.warn("Token verification unavailable: {}", e.getMessage());
+            reject("unavailable");
+            return null;
+        }
+        if (verifiedToken == null) {
+            rejected.put(key, Boolean.TRUE);
+            reject("invalid");
+        }
+        return verifiedToken;
+    }
+
+    private VerifiedToken verifyShared(String key, String token) {
+        VerifiedToken cached = verified.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<VerifiedToken> pending = new CompletableFuture<>();
+        CompletableFuture<VerifiedToken> running = inFlight.putIfAbsent(key, pending);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                // 검증을 맡은 요청이 던진 예외를 그대로 전달
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        // 이 요청이 검증을 맡음 (성공한 결과만 캐시에 남김)
+        try {
+            VerifiedToken verifiedToken = supabaseJwtVerifier.verify(token);
+            if (verifiedToken != null) {
+                verified.put(key, verifiedToken);
+            }
+            pending.complete(verifiedToken);
+            return verifiedToken;
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    /**
+     * JWT 형식과 exp 클레임 확인
+     * @return 거절 사유, 통과하면 null
+     */
+    private String precheck(String token) {
+        Matcher matcher = JWT_PATTERN.matcher(token);
+        if (!matcher.matches()) {
+            return "malformed";
+        }
+        try {
+            byte[] payload = Base64.getUrlDecoder().decode(matcher.group(1));
+            JsonNode exp = objectMapper.readTree(payload).get("exp");
+            if (exp == null || !exp.canConvertToLong()) {
+                return "malformed";
+            }
+            if (Instant.ofEpochSecond(exp.asLong()).plusSeconds(clockSkewSeconds).isBefore(Instant.now())) {
+                return "expired";
+            }
+            return null;
+        } catch (Exception e) {
+            return "malformed";
+        }
+    }
+
+    private void reject(String reason) {
+        log.debug("Bearer token rejected: {}", reason);
+        meterRegistry.counter("auth.token.rejected", "reason", reason).increment();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * 항목별 만료: 토큰 exp에서 여유 시간을 뺀 시점까지
+     */
+    private class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            if (token.getExpiresAt() == null) {
+                return UNKNOWN_EXPIRY_TTL.toNanos();
+            }
+            Duration remaining = Duration.between(Instant.now(), token.getExpiresAt().minus(expiryMargin));
+            return Math.max(0L, remaining.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.softdinner.security;
+
+import lombok.*;
+
+/**
+ * 인증 계층에서 캐시하는 사용자 프로필 (users 테이블의 role, full_name, loyalty_tier)
+ */
+@Getter
+@AllArgsConstructor
+public class UserProfile {
+
+    private final String id;
+    private final String role;
+    private final String fullName;
+    private final String loyaltyTier;
+}
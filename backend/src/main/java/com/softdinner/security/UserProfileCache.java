@@ -0,0 +1,96 @@
+package com.softdinner.security;
+
+import com.github.benmanes.caffeine.cache.*;
+import io.micrometer.core.instrument.*;
+import io.micrometer.core.instrument.binder.cache.*;
+import lombok.extern.slf4j.*;
+import org.springframework.beans.factory.annotation.*;
+import org.springframework.stereotype.*;
+import org.springframework.web.reactive.function.client.*;
+
+import java.time.*;
+import java.util.*;
+
+/**
+ * userId -> 사용자 프로필(역할, 이름, 등급) 캐시
+ * 인증된 요청마다 users 테이블을 조회하지 않도록 크기와 TTL이 제한된 인메모리 캐시를 둔다.
+ * 역할이나 등급이 바뀌는 경로에서는 {@link #invalidate(String)}를 호출해야 한다.
+ */
+@Slf4j
+@Component
+public class UserProfileCache {
+
+    private final WebClient supabaseWebClient;
+    private final String supabaseUrl;
+    private final String supabaseServiceRoleKey;
+    private final Cache<String, UserProfile> cache;
+
+    public UserProfileCache(
+            @Qualifier("supabaseWebClient") WebClient supabaseWebClient,
+            @Qualifier("supabaseUrl") String supabaseUrl,
+            @Qualifier("supabaseServiceRoleKey") String supabaseServiceRoleKey,
+            MeterRegistry meterRegistry,
+            @Value("${softdinner.auth.profile-cache.max-size:10000}") long maxSize,
+            @Value("${softdinner.auth.profile-cache.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.supabaseWebClient = supabaseWebClient;
+        this.supabaseUrl = supabaseUrl;
+        this.supabaseServiceRoleKey = supabaseServiceRoleKey;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.user.profiles");
+    }
+
+    /**
+     * 사용자 프로필 조회 (캐시 미스 시 users 테이블에서 로드)
+     * @return 프로필, 사용자가 없거나 조회에 실패하면 null
+     */
+    public UserProfile getProfile(String userId) {
+        return cache.get(userId, this::loadProfile);
+    }
+
+    /**
+     * 사용자의 역할/등급이 바뀌었을 때 캐시 무효화
+     */
+    public void invalidate(String userId) {
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+
+    /**
+     * users 테이블에서 role, full_name, loyalty_tier 조회
+     * 조회 실패나 사용자 미존재 시 null을 반환해 캐시에 남기지 않는다 (가입 직후 재시도 가능).
+     */
+    @SuppressWarnings("unchecked")
+    private UserProfile loadProfile(String userId) {
+        try {
+            Map<String, Object>[] result = supabaseWebClient.get()
+                    .uri(supabaseUrl + "/rest/v1/users?id=eq." + userId + "&select=role,full_name,loyalty_tier")
+                    .header("Authorization", "Bearer " + supabaseServiceRoleKey)
+                    .header("apikey", supabaseServiceRoleKey)
+                    .retrieve()
+                    .bodyToMono(Map[].class)
+                    .block();
+
+            if (result == null || result.length == 0) {
+                return null;
+            }
+
+            Map<String, Object> user = result[0];
+            log.debug("User {} has role: {}", userId, user.get("role"));
+            return new UserProfile(
+                    userId,
+                    (String) user.get("role"),
+                    (String) user.get("full_name"),
+                    (String) user.get("loyalty_tier")
+            );
+        } catch (Exception e) {
+            log.warn("Failed to fetch user profile for {}: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+}
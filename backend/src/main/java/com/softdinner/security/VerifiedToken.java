@@ -0,0 +1,29 @@
+package com.softdinner.security;
+
+import lombok.*;
+
+import java.time.*;
+import java.util.*;
+
+/**
+ * 검증이 끝난 Supabase 액세스 토큰 정보
+ */
+@Getter
+@AllArgsConstructor
+public class VerifiedToken {
+
+    private final String userId;
+    private final Instant expiresAt;
+    private final Map<String, Object> claims;
+
+    /**
+     * app_metadata.role 클레임 (서비스 롤 키로만 쓸 수 있으므로 신뢰 가능), 없으면 null
+     */
+    public String getAppMetadataRole() {
+        Object appMetadata = claims != null ? claims.get("app_metadata") : null;
+        if (appMetadata instanceof Map<?, ?> metadata && metadata.get("role") instanceof String role && !role.isBlank()) {
+            return role;
+        }
+        return null;
+    }
+}
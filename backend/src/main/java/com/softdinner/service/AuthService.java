@@ -1,6 +1,7 @@
 package com.softdinner.service;
 
 import com.softdinner.dto.*;
+import com.softdinner.security.*;
 import com.fasterxml.jackson.databind.*;
 import lombok.extern.slf4j.*;
 import org.springframework.beans.factory.annotation.*;
@@ -14,74 +15,41 @@ import java.util.*;
 @Service
 public class AuthService {
 
+    // Admin API 사용자 검색 페이지 크기
+    private static final int AUTH_USER_PAGE_SIZE = 50;
+
     private final WebClient supabaseWebClient;
     private final String supabaseUrl;
     private final String supabaseServiceRoleKey;
     private final String supabaseAnonKey;
+    private final UserProfileCache userProfileCache;
+    private final boolean roleFromToken;
 
     public AuthService(
             @Qualifier("supabaseWebClient") WebClient supabaseWebClient,
             @Qualifier("supabaseUrl") String supabaseUrl,
             @Qualifier("supabaseServiceRoleKey") String supabaseServiceRoleKey,
-            @Qualifier("supabaseAnonKey") String supabaseAnonKey
+            @Qualifier("supabaseAnonKey") String supabaseAnonKey,
+            UserProfileCache userProfileCache,
+            @Value("${softdinner.auth.role-from-token:true}") boolean roleFromToken
     ) {
         this.supabaseWebClient = supabaseWebClient;
         this.supabaseUrl = supabaseUrl;
         this.supabaseServiceRoleKey = supabaseServiceRoleKey;
         this.supabaseAnonKey = supabaseAnonKey;
+        this.userProfileCache = userProfileCache;
+        this.roleFromToken = roleFromToken;
     }
 
     public AuthResponseDTO signup(SignupRequestDTO request) {
         try {
-            // 0. Check if user already exists in auth.users and delete if exists
-            // Supabase Admin API를 사용하여 이메일로 사용자 조회 및 삭제
+            // 0. Check if user already exists and delete if exists
+            // public.users.email 인덱스(idx_users_email)로 조회 (전체 사용자 목록을 받지 않음)
             try {
-                // Get all users and filter by email (Admin API doesn't support direct email filtering)
-                @SuppressWarnings("unchecked")
-                List<Map<String, Object>> allUsers = supabaseWebClient.get()
-                        .uri(supabaseUrl + "/auth/v1/admin/users")
-                        .header("Authorization", "Bearer " + supabaseServiceRoleKey)
-                        .header("apikey", supabaseServiceRoleKey)
-                        .retrieve()
-                        .bodyToMono(List.class)
-                        .block();
-
-                if (allUsers != null) {
-                    // Find user by email
-                    Map<String, Object> existingUser = allUsers.stream()
-                            .filter(user -> request.getEmail().equalsIgnoreCase((String) user.get("email")))
-                            .findFirst()
-                            .orElse(null);
-
-                    if (existingUser != null) {
-                        String existingUserId = (String) existingUser.get("id");
-                        log.warn("User already exists in auth.users with id: {}, deleting before recreating", existingUserId);
-                        
-                        // Delete existing user from auth.users
-                        supabaseWebClient.delete()
-                                .uri(supabaseUrl + "/auth/v1/admin/users/" + existingUserId)
-                                .header("Authorization", "Bearer " + supabaseServiceRoleKey)
-                                .header("apikey", supabaseServiceRoleKey)
-                                .retrieve()
-                                .bodyToMono(Void.class)
-                                .block();
-                        
-                        log.info("Deleted existing user from auth.users: {}", existingUserId);
-                        
-                        // Also delete from public.users if exists
-                        try {
-                            supabaseWebClient.delete()
-                                    .uri(supabaseUrl + "/rest/v1/users?id=eq." + existingUserId)
-                                    .header("Authorization", "Bearer " + supabaseServiceRoleKey)
-                                    .header("apikey", supabaseServiceRoleKey)
-                                    .retrieve()
-                                    .bodyToMono(Void.class)
-                                    .block();
-                            log.info("Deleted existing user from public.users: {}", existingUserId);
-                        } catch (Exception e) {
-                            log.warn("Failed to delete from public.users (may not exist): {}", e.getMessage());
-                        }
-                    }
+                String existingUserId = findUserIdByEmail(request.getEmail());
+                if (existingUserId != null) {
+                    log.warn("User already exists with id: {}, deleting before recreating", existingUserId);
+                    deleteExistingUser(existingUserId);
                 }
             } catch (Exception e) {
                 log.warn("Error checking/deleting existing user: {}", e.getMessage());
@@ -98,44 +66,24 @@ public class AuthService {
                     "phone", request.getPhone() != null ? request.getPhone() : "",
                     "address", request.getAddress() != null ? request.getAddress() : ""
             ));
+            if (roleFromToken) {
+                // 액세스 토큰의 app_metadata.role 클레임으로 권한 판단 (요청마다 DB 조회 불필요)
+                authRequest.put("app_metadata", Map.of("role", request.getRole()));
+            }
 
-            @SuppressWarnings("unchecked")
-            Map<String, Object> authResponse = supabaseWebClient.post()
-                    .uri(supabaseUrl + "/auth/v1/admin/users")
-                    .header("Authorization", "Bearer " + supabaseServiceRoleKey)
-                    .header("apikey", supabaseServiceRoleKey)
-                    .header("Content-Type", "application/json")
-                    .bodyValue(authRequest)
-                    .retrieve()
-                    .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(), response -> {
-                        return response.bodyToMono(String.class)
-                                .flatMap(errorBody -> {
-                                    log.error("Supabase Admin API error: {} - {}", response.statusCode(), errorBody);
-                                    
-                                    // Parse error response to provide user-friendly messages
-                                    try {
-                                        ObjectMapper objectMapper = new ObjectMapper();
-                                        @SuppressWarnings("unchecked")
-                                        Map<String, Object> errorMap = objectMapper.readValue(errorBody, Map.class);
-                                        
-                                        String errorCode = (String) errorMap.get("error_code");
-                                        String errorMsg = (String) errorMap.get("msg");
-                                        
-                                        if ("email_exists".equals(errorCode) || "user_already_registered".equals(errorCode)) {
-                                            return Mono.error(new RuntimeException("이미 등록된 이메일 주소입니다. Supabase Dashboard의 Authentication > Users에서 해당 사용자를 삭제한 후 다시 시도해주세요."));
-                                        } else if (errorMsg != null) {
-                                            return Mono.error(new RuntimeException(errorMsg));
-                                        }
-                                    } catch (Exception e) {
-                                        // If parsing fails, use original error body
-                                        log.warn("Failed to parse error response: {}", e.getMessage());
-                                    }
-                                    
-                                    return Mono.error(new RuntimeException("회원가입에 실패했습니다. 다시 시도해주세요."));
-                                });
-                    })
-                    .bodyToMono(Map.class)
-                    .block();
+            Map<String, Object> authResponse;
+            try {
+                authResponse = createAuthUser(authRequest);
+            } catch (EmailExistsException e) {
+                // public.users에 없는 auth.users 잔여 계정 (이전 가입 실패 등): 이메일 필터 조회 후 삭제하고 한 번만 재시도
+                String orphanUserId = findAuthUserIdByEmail(request.getEmail());
+                if (orphanUserId == null) {
+                    throw e;
+                }
+                log.warn("Orphaned auth user found with id: {}, deleting before recreating", orphanUserId);
+                deleteExistingUser(orphanUserId);
+                authResponse = createAuthUser(authRequest);
+            }
 
             if (authResponse == null) {
                 throw new RuntimeException("Failed to create user in Supabase Auth");
@@ -226,6 +174,7 @@ public class AuthService {
             if (userResponseArray == null || userResponseArray.length == 0) {
                 throw new RuntimeException("Failed to create user record in database");
             }
+            userProfileCache.invalidate(userId);
 
             // 3. Build response (자동 로그인 없이 회원가입만 완료)
             // 사용자는 회원가입 후 직접 로그인 페이지에서 로그인해야 함
@@ -253,6 +202,127 @@ public class AuthService {
         }
     }
 
+    /**
+     * Supabase Auth에 사용자 생성 (Admin API)
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> createAuthUser(Map<String, Object> authRequest) {
+        return supabaseWebClient.post()
+                .uri(supabaseUrl + "/auth/v1/admin/users")
+                .header("Authorization", "Bearer " + supabaseServiceRoleKey)
+                .header("apikey", supabaseServiceRoleKey)
+                .header("Content-Type", "application/json")
+                .bodyValue(authRequest)
+                .retrieve()
+                .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(), response -> {
+                    return response.bodyToMono(String.class)
+                            .flatMap(errorBody -> {
+                                log.error("Supabase Admin API error: {} - {}", response.statusCode(), errorBody);
+                                
+                                // Parse error response to provide user-friendly messages
+                                try {
+                                    ObjectMapper objectMapper = new ObjectMapper();
+                                    @SuppressWarnings("unchecked")
+                                    Map<String, Object> errorMap = objectMapper.readValue(errorBody, Map.class);
+                                    
+                                    String errorCode = (String) errorMap.get("error_code");
+                                    String errorMsg = (String) errorMap.get("msg");
+                                    
+                                    if ("email_exists".equals(errorCode) || "user_already_registered".equals(errorCode)) {
+                                        return Mono.error(new EmailExistsException("이미 등록된 이메일 주소입니다. Supabase Dashboard의 Authentication > Users에서 해당 사용자를 삭제한 후 다시 시도해주세요."));
+                                    } else if (errorMsg != null) {
+                                        return Mono.error(new RuntimeException(errorMsg));
+                                    }
+                                } catch (Exception e) {
+                                    // If parsing fails, use original error body
+                                    log.warn("Failed to parse error response: {}", e.getMessage());
+                                }
+                                
+                                return Mono.error(new RuntimeException("회원가입에 실패했습니다. 다시 시도해주세요."));
+                            });
+                })
+                .bodyToMono(Map.class)
+                .block();
+    }
+
+    /**
+     * 이메일로 기존 사용자 ID 조회 (public.users, idx_users_email 사용)
+     */
+    @SuppressWarnings("unchecked")
+    private String findUserIdByEmail(String email) {
+        Map<String, Object>[] result = supabaseWebClient.get()
+                .uri(supabaseUrl + "/rest/v1/users?email=eq.{email}&select=id&limit=1", email)
+                .header("Authorization", "Bearer " + supabaseServiceRoleKey)
+                .header("apikey", supabaseServiceRoleKey)
+                .retrieve()
+                .bodyToMono(Map[].class)
+                .block();
+
+        return result != null && result.length > 0 ? (String) result[0].get("id") : null;
+    }
+
+    /**
+     * 이메일로 auth.users 사용자 ID 조회 (Admin API filter 파라미터, 전체 목록을 받지 않음)
+     * filter는 부분 일치라서 정확히 같은 이메일을 찾을 때까지 일치 결과를 페이지 단위로 넘긴다.
+     */
+    @SuppressWarnings("unchecked")
+    private String findAuthUserIdByEmail(String email) {
+        for (int page = 1; ; page++) {
+            Map<String, Object> response = supabaseWebClient.get()
+                    .uri(supabaseUrl + "/auth/v1/admin/users?filter={email}&page={page}&per_page={perPage}",
+                            email, page, AUTH_USER_PAGE_SIZE)
+                    .header("Authorization", "Bearer " + supabaseServiceRoleKey)
+                    .header("apikey", supabaseServiceRoleKey)
+                    .retrieve()
+                    .bodyToMono(Map.class)
+                    .block();
+
+            if (response == null || !(response.get("users") instanceof List)) {
+                return null;
+            }
+            List<Map<String, Object>> users = (List<Map<String, Object>>) response.get("users");
+            for (Map<String, Object> user : users) {
+                if (email.equalsIgnoreCase((String) user.get("email"))) {
+                    return (String) user.get("id");
+                }
+            }
+            if (users.size() < AUTH_USER_PAGE_SIZE) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * auth.users와 public.users에서 기존 사용자 삭제
+     */
+    private void deleteExistingUser(String existingUserId) {
+        // Delete existing user from auth.users
+        supabaseWebClient.delete()
+                .uri(supabaseUrl + "/auth/v1/admin/users/" + existingUserId)
+                .header("Authorization", "Bearer " + supabaseServiceRoleKey)
+                .header("apikey", supabaseServiceRoleKey)
+                .retrieve()
+                .bodyToMono(Void.class)
+                .block();
+
+        log.info("Deleted existing user from auth.users: {}", existingUserId);
+        userProfileCache.invalidate(existingUserId);
+
+        // Also delete from public.users if exists
+        try {
+            supabaseWebClient.delete()
+                    .uri(supabaseUrl + "/rest/v1/users?id=eq." + existingUserId)
+                    .header("Authorization", "Bearer " + supabaseServiceRoleKey)
+                    .header("apikey", supabaseServiceRoleKey)
+                    .retrieve()
+                    .bodyToMono(Void.class)
+                    .block();
+            log.info("Deleted existing user from public.users: {}", existingUserId);
+        } catch (Exception e) {
+            log.warn("Failed to delete from public.users (may not exist): {}", e.getMessage());
+        }
+    }
+
     public AuthResponseDTO login(LoginRequestDTO request) {
         try {
             log.info("Login attempt for email: {}", request.getEmail());
@@ -355,6 +425,15 @@ public class AuthService {
 
             Map<String, Object> userData = userDataArray[0];
 
+            // 3. 토큰의 role 클레임이 users 테이블과 다르면 app_metadata 동기화 후 세션 재발급
+            if (roleFromToken) {
+                Map<String, Object> refreshed = syncRoleClaim(user, (String) userData.get("role"), refreshToken);
+                if (refreshed != null) {
+                    accessToken = (String) refreshed.get("access_token");
+                    refreshToken = (String) refreshed.get("refresh_token");
+                }
+            }
+
             UserResponseDTO userDTO = UserResponseDTO.builder()
                     .id((String) userData.get("id"))
                     .email((String) userData.get("email"))
@@ -381,6 +460,54 @@ public class AuthService {
         }
     }
 
+    /**
+     * app_metadata.role을 users.role과 맞추고, 바뀐 경우 새 클레임이 담긴 세션을 발급받음
+     * @return 재발급된 세션 (access_token, refresh_token), 변경이 없거나 실패하면 null
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> syncRoleClaim(Map<String, Object> authUser, String role, String refreshToken) {
+        if (role == null) {
+            return null;
+        }
+        Object appMetadata = authUser.get("app_metadata");
+        if (appMetadata instanceof Map && role.equals(((Map<String, Object>) appMetadata).get("role"))) {
+            return null;
+        }
+
+        String userId = (String) authUser.get("id");
+        try {
+            supabaseWebClient.put()
+                    .uri(supabaseUrl + "/auth/v1/admin/users/" + userId)
+                    .header("Authorization", "Bearer " + supabaseServiceRoleKey)
+                    .header("apikey", supabaseServiceRoleKey)
+                    .header("Content-Type", "application/json")
+                    .bodyValue(Map.of("app_metadata", Map.of("role", role)))
+                    .retrieve()
+                    .bodyToMono(Map.class)
+                    .block();
+
+            Map<String, Object> session = supabaseWebClient.post()
+                    .uri(supabaseUrl + "/auth/v1/token?grant_type=refresh_token")
+                    .header("Authorization", "Bearer " + supabaseAnonKey)
+                    .header("apikey", supabaseAnonKey)
+                    .header("Content-Type", "application/json")
+                    .bodyValue(Map.of("refresh_token", refreshToken))
+                    .retrieve()
+                    .bodyToMono(Map.class)
+                    .block();
+
+            if (session == null || session.get("access_token") == null || session.get("refresh_token") == null) {
+                return null;
+            }
+            log.info("Synced role claim for user {}: {}", userId, role);
+            return session;
+        } catch (Exception e) {
+            // 기존 토큰으로 계속 진행 (필터가 users 테이블 조회로 대체)
+            log.warn("Failed to sync role claim for user {}: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
     public UserResponseDTO getCurrentUser(String userId) {
         try {
             @SuppressWarnings("unchecked")
@@ -418,5 +545,13 @@ public class AuthService {
             throw new RuntimeException("Failed to get user: " + e.getMessage());
         }
     }
-}
 
+    /**
+     * 이미 등록된 이메일로 가입을 시도한 경우
+     */
+    private static class EmailExistsException extends RuntimeException {
+        EmailExistsException(String message) {
+            super(message);
+        }
+    }
+}
@@ -2,11 +2,16 @@ package com.softdinner.service;
 
 import com.softdinner.repository.CookingTaskRepository;
 import com.softdinner.repository.OrderRepository;
+import com.softdinner.repository.page.Keyset;
+import com.softdinner.repository.page.Page;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -15,29 +20,35 @@ public class CookingTaskService {
     private final CookingTaskRepository cookingTaskRepository;
     private final OrderRepository orderRepository;
     private final IngredientDeductionService ingredientDeductionService;
+    private final UserNameResolver userNameResolver;
+
 
     public CookingTaskService(
             CookingTaskRepository cookingTaskRepository,
             OrderRepository orderRepository,
-            IngredientDeductionService ingredientDeductionService
+            IngredientDeductionService ingredientDeductionService,
+            UserNameResolver userNameResolver
     ) {
         this.cookingTaskRepository = cookingTaskRepository;
         this.orderRepository = orderRepository;
         this.ingredientDeductionService = ingredientDeductionService;
+        this.userNameResolver = userNameResolver;
     }
 
     /**
-     * Staff의 요리 작업 목록 조회
+     * Staff의 요리 작업 목록 조회 (최근순, cursor 다음 페이지)
      */
-    public List<Map<String, Object>> getCookingTasksByStaff(String staffId) {
-        try {
-            List<Map<String, Object>> tasks = cookingTaskRepository.getCookingTasksByStaff(staffId);
-            
-            // 주문 정보를 포함하여 포맷팅
-            return tasks.stream().map(task -> {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> order = (Map<String, Object>) task.get("orders");
-                if (order != null) {
+    public Mono<Page<Map<String, Object>>> getCookingTasksByStaff(String staffId, String cursor, Integer limit) {
+        int size = Page.size(limit);
+        // 주문 정보를 포함하여 포맷팅 (고객 이름은 목록을 받은 뒤 한 번에 조회)
+        UserNameResolver.Lookup customerNames = userNameResolver.newLookup();
+        return Flux.defer(() -> cookingTaskRepository.getCookingTasksByStaff(staffId, Keyset.decode(cursor), size + 1))
+                .map(task -> {
+                    Map<String, Object> order = orderOf(task);
+                    if (order == null) {
+                        return task;
+                    }
+
                     @SuppressWarnings("unchecked")
                     Map<String, Object> orderItems = (Map<String, Object>) order.get("order_items");
                     if (orderItems != null) {
@@ -48,22 +59,38 @@ public class CookingTaskService {
                     task.put("deliveryDate", order.get("delivery_date"));
                     task.put("deliveryAddress", order.get("delivery_address"));
                     task.put("orderId", order.get("id"));
-                    
-                    // 고객 정보 조회
-                    String userId = (String) order.get("user_id");
-                    if (userId != null) {
-                        Map<String, Object> user = orderRepository.getUserById(userId);
-                        if (user != null) {
-                            task.put("customerName", user.get("full_name"));
-                        }
-                    }
-                }
-                return task;
-            }).toList();
-        } catch (Exception e) {
-            log.error("Error getting cooking tasks: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to get cooking tasks: " + e.getMessage(), e);
-        }
+                    return task;
+                })
+                .collectList()
+                .map(tasks -> Page.of(tasks, size, CookingTaskService::keysetOf))
+                .flatMap(page -> customerNames.resolve(page.items().stream().map(this::customerIdOf).collect(Collectors.toList()))
+                        .map(names -> {
+                            for (Map<String, Object> task : page.items()) {
+                                String customerName = names.get(customerIdOf(task));
+                                if (customerName != null) {
+                                    task.put("customerName", customerName);
+                                }
+                            }
+                            return page;
+                        }))
+                .onErrorMap(e -> {
+                    log.error("Error getting cooking tasks: {}", e.getMessage(), e);
+                    return new RuntimeException("Failed to get cooking tasks: " + e.getMessage(), e);
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> orderOf(Map<String, Object> task) {
+        return (Map<String, Object>) task.get("orders");
+    }
+
+    private static Keyset keysetOf(Map<String, Object> task) {
+        return new Keyset((String) task.get("created_at"), (String) task.get("id"));
+    }
+
+    private String customerIdOf(Map<String, Object> task) {
+        Map<String, Object> order = orderOf(task);
+        return order != null ? (String) order.get("user_id") : null;
     }
 
     /**
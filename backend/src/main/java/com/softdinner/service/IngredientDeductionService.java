@@ -14,13 +14,16 @@ public class IngredientDeductionService {
 
     private final CookingTaskRepository cookingTaskRepository;
     private final IngredientRepository ingredientRepository;
+    private final MenuCatalog menuCatalog;
 
     public IngredientDeductionService(
             CookingTaskRepository cookingTaskRepository,
-            IngredientRepository ingredientRepository
+            IngredientRepository ingredientRepository,
+            MenuCatalog menuCatalog
     ) {
         this.cookingTaskRepository = cookingTaskRepository;
         this.ingredientRepository = ingredientRepository;
+        this.menuCatalog = menuCatalog;
     }
 
     /**
@@ -48,8 +51,8 @@ public class IngredientDeductionService {
             @SuppressWarnings("unchecked")
             Map<String, Object> customizations = (Map<String, Object>) orderItems.getOrDefault("customizations", Map.of());
 
-            // 3. 디너의 기본 메뉴 항목 조회
-            List<Map<String, Object>> menuItems = cookingTaskRepository.getMenuItemsByDinnerId(dinnerId);
+            // 3. 디너의 기본 메뉴 항목 조회 (메뉴 카탈로그, 재료 이름/단위 포함)
+            List<Map<String, Object>> menuItems = menuCatalog.current().menuItems(dinnerId);
             if (menuItems.isEmpty()) {
                 log.warn("No menu items found for dinner: {}", dinnerId);
                 return new DeductionResult(Collections.emptyList(), "No menu items found");
@@ -58,6 +61,7 @@ public class IngredientDeductionService {
             // 4. 재료별 차감량 계산 및 메뉴 항목별 정보 저장
             Map<String, BigDecimal> ingredientDeductions = new HashMap<>();
             Map<String, List<Map<String, Object>>> ingredientMenuItems = new HashMap<>(); // 재료별 메뉴 항목 정보
+            Map<String, Map<String, Object>> ingredients = new HashMap<>(); // 재료 이름/단위 (menu_items에 embed)
             List<DeductionDetail> details = new ArrayList<>();
 
             for (Map<String, Object> menuItem : menuItems) {
@@ -99,6 +103,11 @@ public class IngredientDeductionService {
 
                 // 재료별로 누적
                 ingredientDeductions.merge(ingredientId, deductionAmount, BigDecimal::add);
+                @SuppressWarnings("unchecked")
+                Map<String, Object> ingredient = (Map<String, Object>) menuItem.get("ingredients");
+                if (ingredient != null) {
+                    ingredients.putIfAbsent(ingredientId, ingredient);
+                }
 
                 // 재료별 메뉴 항목 정보 저장
                 Map<String, Object> menuItemInfo = new HashMap<>();
@@ -120,93 +129,44 @@ public class IngredientDeductionService {
                     menuItemName, actualQuantity, ingredientQuantityPerUnit, deductionAmount);
             }
 
-            // 5. 각 재료 수량 차감 및 로그 기록
-            List<String> errors = new ArrayList<>();
+            // 5. 재료별 차감량과 출고 로그 notes 구성
+            List<Map<String, Object>> deductions = new ArrayList<>();
             for (Map.Entry<String, BigDecimal> entry : ingredientDeductions.entrySet()) {
                 String ingredientId = entry.getKey();
-                BigDecimal deductionAmount = entry.getValue();
-                List<Map<String, Object>> menuItemsForIngredient = ingredientMenuItems.getOrDefault(ingredientId, new ArrayList<>());
+                Map<String, Object> ingredient = ingredients.getOrDefault(ingredientId, Map.of());
+
+                Map<String, Object> deduction = new HashMap<>();
+                deduction.put("ingredient_id", ingredientId);
+                deduction.put("quantity", entry.getValue().toString());
+                deduction.put("notes", buildNotes(
+                        ingredientMenuItems.getOrDefault(ingredientId, new ArrayList<>()),
+                        (String) ingredient.get("name"),
+                        (String) ingredient.get("unit")));
+                deductions.add(deduction);
+            }
 
-                try {
-                    // 현재 재고 조회
-                    Map<String, Object> ingredient = ingredientRepository.getIngredientById(ingredientId);
-                    if (ingredient == null) {
+            // 6. 재고 차감 및 로그 기록 (DB 함수 한 번 호출, 재고가 부족한 재료는 차감하지 않음)
+            List<String> errors = new ArrayList<>();
+            if (!deductions.isEmpty()) {
+                List<Map<String, Object>> results = ingredientRepository.deductIngredients(orderId, staffId, deductions);
+                for (Map<String, Object> result : results) {
+                    String ingredientId = (String) result.get("ingredient_id");
+                    String status = (String) result.get("status");
+                    Object name = result.get("name");
+                    BigDecimal deductionAmount = new BigDecimal(result.get("quantity").toString());
+                    BigDecimal previousQuantity = result.get("previous_quantity") != null
+                            ? new BigDecimal(result.get("previous_quantity").toString()) : null;
+
+                    if ("not_found".equals(status)) {
                         errors.add("Ingredient not found: " + ingredientId);
-                        continue;
-                    }
-
-                    BigDecimal currentQuantity = new BigDecimal(ingredient.get("quantity").toString());
-                    BigDecimal newQuantity = currentQuantity.subtract(deductionAmount);
-
-                    if (newQuantity.compareTo(BigDecimal.ZERO) < 0) {
+                    } else if ("insufficient".equals(status)) {
                         log.warn("Insufficient stock for ingredient {}: current={}, required={}",
-                            ingredient.get("name"), currentQuantity, deductionAmount);
-                        errors.add("재고 부족: " + ingredient.get("name") + " (현재: " + currentQuantity + ", 필요: " + deductionAmount + ")");
-                        continue;
+                            name, previousQuantity, deductionAmount);
+                        errors.add("재고 부족: " + name + " (현재: " + previousQuantity + ", 필요: " + deductionAmount + ")");
+                    } else {
+                        log.info("Deducted {} from ingredient {} ({} -> {})",
+                            deductionAmount, name, previousQuantity, result.get("new_quantity"));
                     }
-
-                    // 재고 업데이트
-                    ingredientRepository.updateIngredientQuantity(ingredientId, newQuantity);
-
-                    // 메뉴 항목별 정보를 notes에 포함
-                    StringBuilder notesBuilder = new StringBuilder();
-                    for (Map<String, Object> menuItemInfo : menuItemsForIngredient) {
-                        String menuItemName = (String) menuItemInfo.get("name");
-                        BigDecimal menuItemQty = (BigDecimal) menuItemInfo.get("quantity");
-                        String menuItemUnit = (String) menuItemInfo.get("unit");
-                        BigDecimal ingredientPerUnit = (BigDecimal) menuItemInfo.get("ingredientPerUnit");
-                        BigDecimal totalDeduction = menuItemQty.multiply(ingredientPerUnit);
-                        
-                        if (notesBuilder.length() > 0) {
-                            notesBuilder.append(", ");
-                        }
-                        
-                        String ingredientName = (String) ingredient.get("name");
-                        String ingredientUnit = (String) ingredient.get("unit");
-                        
-                        // 포트 단위인 경우 특별 표시 (예: 커피 1포트=커피5잔 차감)
-                        if ("포트".equals(menuItemUnit) && ingredientPerUnit.compareTo(BigDecimal.ONE) > 0) {
-                            notesBuilder.append(String.format("%s %d%s=%s%d%s 차감", 
-                                menuItemName, menuItemQty.intValue(), menuItemUnit,
-                                ingredientName, totalDeduction.intValue(), ingredientUnit));
-                        }
-                        // 스테이크, 베이컨, 샐러드인 경우 특별 표시 (예: 스테이크 1개=고기 0.2kg 차감, 베이컨 1개=고기 0.1kg 차감, 샐러드 1개=채소 0.2kg 차감)
-                        else if (("스테이크".equals(menuItemName) || "베이컨".equals(menuItemName) || "샐러드".equals(menuItemName)) 
-                                && ingredientPerUnit.compareTo(BigDecimal.ONE) < 0) {
-                            notesBuilder.append(String.format("%s %d%s=%s%.1f%s 차감", 
-                                menuItemName, menuItemQty.intValue(), menuItemUnit,
-                                ingredientName, totalDeduction.doubleValue(), ingredientUnit));
-                        }
-                        // 와인인 경우 특별 표시 (예: 와인 1잔=와인 0.2병 차감, 와인 5잔=와인 1병 차감)
-                        else if ("와인".equals(menuItemName) && "병".equals(ingredientUnit) && ingredientPerUnit.compareTo(BigDecimal.ONE) < 0) {
-                            notesBuilder.append(String.format("%s %d%s=%s%.1f%s 차감", 
-                                menuItemName, menuItemQty.intValue(), menuItemUnit,
-                                ingredientName, totalDeduction.doubleValue(), ingredientUnit));
-                        } else {
-                            notesBuilder.append(String.format("%s %d%s 차감", 
-                                menuItemName, totalDeduction.intValue(), ingredientUnit));
-                        }
-                    }
-
-                    // 출고 로그 기록
-                    Map<String, Object> logData = new HashMap<>();
-                    logData.put("ingredient_id", ingredientId);
-                    logData.put("action", "out");
-                    logData.put("quantity", deductionAmount.toString());
-                    logData.put("previous_quantity", currentQuantity.toString());
-                    logData.put("new_quantity", newQuantity.toString());
-                    logData.put("staff_id", staffId);
-                    logData.put("order_id", orderId);
-                    logData.put("notes", notesBuilder.toString());
-
-                    ingredientRepository.createIngredientLog(logData);
-
-                    log.info("Deducted {} from ingredient {} ({} -> {})",
-                        deductionAmount, ingredient.get("name"), currentQuantity, newQuantity);
-
-                } catch (Exception e) {
-                    log.error("Error deducting ingredient {}: {}", ingredientId, e.getMessage(), e);
-                    errors.add("재료 차감 실패: " + ingredientId + " - " + e.getMessage());
                 }
             }
 
@@ -221,6 +181,48 @@ public class IngredientDeductionService {
         }
     }
 
+    /**
+     * 출고 로그 notes: 재료를 사용한 메뉴 항목별 차감 내역
+     */
+    private String buildNotes(List<Map<String, Object>> menuItemsForIngredient, String ingredientName, String ingredientUnit) {
+        StringBuilder notesBuilder = new StringBuilder();
+        for (Map<String, Object> menuItemInfo : menuItemsForIngredient) {
+            String menuItemName = (String) menuItemInfo.get("name");
+            BigDecimal menuItemQty = (BigDecimal) menuItemInfo.get("quantity");
+            String menuItemUnit = (String) menuItemInfo.get("unit");
+            BigDecimal ingredientPerUnit = (BigDecimal) menuItemInfo.get("ingredientPerUnit");
+            BigDecimal totalDeduction = menuItemQty.multiply(ingredientPerUnit);
+
+            if (notesBuilder.length() > 0) {
+                notesBuilder.append(", ");
+            }
+
+            // 포트 단위인 경우 특별 표시 (예: 커피 1포트=커피5잔 차감)
+            if ("포트".equals(menuItemUnit) && ingredientPerUnit.compareTo(BigDecimal.ONE) > 0) {
+                notesBuilder.append(String.format("%s %d%s=%s%d%s 차감", 
+                    menuItemName, menuItemQty.intValue(), menuItemUnit,
+                    ingredientName, totalDeduction.intValue(), ingredientUnit));
+            }
+            // 스테이크, 베이컨, 샐러드인 경우 특별 표시 (예: 스테이크 1개=고기 0.2kg 차감, 베이컨 1개=고기 0.1kg 차감, 샐러드 1개=채소 0.2kg 차감)
+            else if (("스테이크".equals(menuItemName) || "베이컨".equals(menuItemName) || "샐러드".equals(menuItemName)) 
+                    && ingredientPerUnit.compareTo(BigDecimal.ONE) < 0) {
+                notesBuilder.append(String.format("%s %d%s=%s%.1f%s 차감", 
+                    menuItemName, menuItemQty.intValue(), menuItemUnit,
+                    ingredientName, totalDeduction.doubleValue(), ingredientUnit));
+            }
+            // 와인인 경우 특별 표시 (예: 와인 1잔=와인 0.2병 차감, 와인 5잔=와인 1병 차감)
+            else if ("와인".equals(menuItemName) && "병".equals(ingredientUnit) && ingredientPerUnit.compareTo(BigDecimal.ONE) < 0) {
+                notesBuilder.append(String.format("%s %d%s=%s%.1f%s 차감", 
+                    menuItemName, menuItemQty.intValue(), menuItemUnit,
+                    ingredientName, totalDeduction.doubleValue(), ingredientUnit));
+            } else {
+                notesBuilder.append(String.format("%s %d%s 차감", 
+                    menuItemName, totalDeduction.intValue(), ingredientUnit));
+            }
+        }
+        return notesBuilder.toString();
+    }
+
     /**
      * 차감 결과 DTO
      */
@@ -2,6 +2,8 @@ package com.softdinner.service;
 
 import com.softdinner.dto.*;
 import com.softdinner.repository.IngredientRepository;
+import com.softdinner.repository.page.Keyset;
+import com.softdinner.repository.page.Page;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -79,29 +81,25 @@ public class IngredientService {
     }
 
     /**
-     * 입출고 기록 조회
+     * 입출고 기록 조회 (최근순, cursor 다음 페이지)
      */
-    public List<IngredientLogDTO> getIngredientLogs(String ingredientId, Integer limit) {
+    @SuppressWarnings("unchecked")
+    public Page<IngredientLogDTO> getIngredientLogs(String ingredientId, String cursor, Integer limit) {
         try {
-            List<Map<String, Object>> logs = ingredientRepository.getIngredientLogs(ingredientId, limit);
-            
-            return logs.stream().map(log -> {
+            int size = Page.size(limit);
+            List<Map<String, Object>> logs = ingredientRepository.getIngredientLogs(
+                    ingredientId, Keyset.decode(cursor), size + 1);
+
+            return Page.of(logs, size, IngredientService::keysetOf).map(log -> {
+                // 재료/직원 정보는 같은 쿼리에서 embed된 값 사용
                 String staffId = (String) log.get("staff_id");
-                String staffName = null;
-                if (staffId != null) {
-                    staffName = ingredientRepository.getUserNameById(staffId);
-                }
+                Map<String, Object> staff = (Map<String, Object>) log.get("staff");
+                String staffName = staff != null ? (String) staff.get("full_name") : null;
 
                 String logIngredientId = (String) log.get("ingredient_id");
-                String ingredientName = null;
-                String ingredientUnit = null;
-                if (logIngredientId != null) {
-                    Map<String, Object> ingredient = ingredientRepository.getIngredientById(logIngredientId);
-                    if (ingredient != null) {
-                        ingredientName = (String) ingredient.get("name");
-                        ingredientUnit = (String) ingredient.get("unit");
-                    }
-                }
+                Map<String, Object> ingredient = (Map<String, Object>) log.get("ingredients");
+                String ingredientName = ingredient != null ? (String) ingredient.get("name") : null;
+                String ingredientUnit = ingredient != null ? (String) ingredient.get("unit") : null;
 
                 return IngredientLogDTO.builder()
                         .id((String) log.get("id"))
@@ -118,13 +116,17 @@ public class IngredientService {
                         .notes((String) log.get("notes"))
                         .createdAt(parseDateTime(log.get("created_at")))
                         .build();
-            }).collect(Collectors.toList());
+            });
         } catch (Exception e) {
             log.error("Error getting ingredient logs: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to get ingredient logs: " + e.getMessage(), e);
         }
     }
 
+    private static Keyset keysetOf(Map<String, Object> log) {
+        return new Keyset((String) log.get("created_at"), (String) log.get("id"));
+    }
+
     /**
      * Map을 IngredientDTO로 변환
      */
@@ -0,0 +1,397 @@
+package com.softdinner.service;
+
+import com.softdinner.repository.MenuRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+import java.util.regex.Pattern;
+
+/**
+ * 메뉴 카탈로그 (dinners, styles, menu_items) 메모리 스냅샷
+ * 한 번 읽은 뒤에는 변경 불가능한 스냅샷을 통째로 교체하는 방식으로만 갱신한다.
+ * 백그라운드에서 updated_at 최댓값이 바뀌었는지 확인해 바뀌었을 때만 다시 읽고,
+ * 삭제처럼 updated_at에 드러나지 않는 변경은 max-age가 지나면 다시 읽어서 반영한다.
+ * 메뉴 항목의 중복(같은 ID, 같은 디너 안의 같은 이름)은 스냅샷을 만들 때 한 번만 정리하고
+ * softdinner.menu.catalog.duplicates 지표로 남긴다.
+ */
+@Slf4j
+@Component
+public class MenuCatalog {
+
+    // 프론트엔드 / 음성 주문에서 사용하는 디너 이름 -> 데이터베이스 이름 (대소문자, 공백 무시)
+    private static final Map<String, String> DINNER_ALIASES = Map.ofEntries(
+            Map.entry("valentine", "Valentine Dinner"),
+            Map.entry("french", "French Dinner"),
+            Map.entry("english", "English Dinner"),
+            Map.entry("champagne", "Champagne Feast"),
+            Map.entry("발렌타인 디너", "Valentine Dinner"),
+            Map.entry("프렌치 디너", "French Dinner"),
+            Map.entry("잉글리시 디너", "English Dinner"),
+            Map.entry("영국 디너", "English Dinner"),
+            Map.entry("샴페인 축제 디너", "Champagne Feast"),
+            Map.entry("샴페인 디너", "Champagne Feast")
+    );
+
+    // 음성 주문에서 사용하는 스타일 이름 -> 데이터베이스 이름 (대소문자, 공백 무시)
+    private static final Map<String, String> STYLE_ALIASES = Map.of(
+            "simple style", "simple",
+            "grand style", "grand",
+            "deluxe style", "deluxe",
+            "심플 스타일", "simple",
+            "심플", "simple",
+            "그랜드 스타일", "grand",
+            "그랜드", "grand",
+            "디럭스 스타일", "deluxe",
+            "디럭스", "deluxe"
+    );
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final MenuRepository menuRepository;
+    private final Duration maxAge;
+    private final AtomicLong generations = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    public MenuCatalog(
+            MenuRepository menuRepository,
+            MeterRegistry meterRegistry,
+            @Value("${softdinner.menu-catalog.max-age-seconds:600}") long maxAgeSeconds
+    ) {
+        this.menuRepository = menuRepository;
+        this.maxAge = Duration.ofSeconds(maxAgeSeconds);
+
+        // 현재 스냅샷에서 제거된 중복 메뉴 항목 수 (데이터 품질 지표)
+        Gauge.builder("softdinner.menu.catalog.duplicates", this, catalog -> catalog.duplicates(Snapshot::duplicateIds))
+                .tag("kind", "id")
+                .description("Menu items dropped from the catalog snapshot as duplicates")
+                .register(meterRegistry);
+        Gauge.builder("softdinner.menu.catalog.duplicates", this, catalog -> catalog.duplicates(Snapshot::duplicateNames))
+                .tag("kind", "name")
+                .description("Menu items dropped from the catalog snapshot as duplicates")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 현재 스냅샷 (아직 읽지 못했으면 지금 읽음)
+     */
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = load();
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * 카탈로그 변경 확인 (시작 직후 한 번 읽고, 이후 updated_at이 바뀌었거나 max-age가 지났을 때만 다시 읽음)
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${softdinner.menu-catalog.check-interval-ms:30000}")
+    public void refreshIfChanged() {
+        try {
+            Snapshot current = snapshot;
+            if (current == null) {
+                current();
+                return;
+            }
+            boolean expired = current.loadedAt().plus(maxAge).isBefore(Instant.now());
+            if (!expired && Objects.equals(menuRepository.findLastUpdatedAt(), current.lastUpdatedAt())) {
+                return;
+            }
+            Snapshot reloaded = load();
+            synchronized (this) {
+                snapshot = reloaded;
+            }
+        } catch (Exception e) {
+            // 이전 스냅샷을 그대로 사용하고 다음 주기에 다시 시도
+            log.warn("Failed to refresh menu catalog: {}", e.getMessage());
+        }
+    }
+
+    private double duplicates(ToIntFunction<Snapshot> count) {
+        Snapshot current = snapshot;
+        return current != null ? count.applyAsInt(current) : 0;
+    }
+
+    private Snapshot load() {
+        long generation = generations.incrementAndGet();
+        Instant loadedAt = Instant.now();
+        List<Map<String, Object>> dinners = menuRepository.findAllDinners();
+        List<Map<String, Object>> styles = menuRepository.findAllStyles();
+        List<Map<String, Object>> menuItems = menuRepository.findAllMenuItems();
+
+        Snapshot loaded = new Snapshot(generation, loadedAt, dinners, styles, menuItems);
+        log.info("Menu catalog loaded: {} dinners, {} styles, {} menu items, {} duplicate ids, {} duplicate names (last updated {})",
+                dinners.size(), styles.size(), menuItems.size(),
+                loaded.duplicateIds(), loaded.duplicateNames(), loaded.lastUpdatedAt());
+        return loaded;
+    }
+
+    /**
+     * 변경 불가능한 카탈로그 스냅샷과 id / DB 이름 / 별칭(프론트엔드, 한글) 인덱스
+     */
+    public static final class Snapshot {
+
+        private final long generation;
+        private final Instant loadedAt;
+        private final Instant lastUpdatedAt;
+        private final String version;
+        private final List<Map<String, Object>> dinners;
+        private final List<Map<String, Object>> styles;
+        private final Map<String, Map<String, Object>> dinnersByKey;
+        private final Map<String, Map<String, Object>> stylesByKey;
+        private final Map<String, List<Map<String, Object>>> menuItemsByDinnerId;
+        private final int duplicateIds;
+        private final int duplicateNames;
+
+        private Snapshot(long generation,
+                         Instant loadedAt,
+                         List<Map<String, Object>> dinnerRows,
+                         List<Map<String, Object>> styleRows,
+                         List<Map<String, Object>> menuItemRows) {
+            this.generation = generation;
+            this.loadedAt = loadedAt;
+            this.dinners = freeze(dinnerRows);
+            this.styles = freeze(styleRows);
+            this.lastUpdatedAt = latestUpdate(dinnerRows, styleRows, menuItemRows);
+
+            Map<String, Map<String, Object>> dinnerIndex = new HashMap<>();
+            for (Map<String, Object> dinner : dinners) {
+                dinnerIndex.put((String) dinner.get("id"), dinner);
+                dinnerIndex.putIfAbsent(key((String) dinner.get("name")), dinner);
+            }
+            addAliases(dinnerIndex, DINNER_ALIASES);
+            this.dinnersByKey = Collections.unmodifiableMap(dinnerIndex);
+
+            Map<String, Map<String, Object>> styleIndex = new HashMap<>();
+            for (Map<String, Object> style : styles) {
+                styleIndex.put((String) style.get("id"), style);
+                styleIndex.putIfAbsent(key((String) style.get("name")), style);
+            }
+            addAliases(styleIndex, STYLE_ALIASES);
+            this.stylesByKey = Collections.unmodifiableMap(styleIndex);
+
+            // 디너별 메뉴 항목: 같은 ID는 한 번만, 같은 디너 안에서 같은 이름이면 첫 번째 것만 유지 (원래 순서 유지)
+            Map<String, List<Map<String, Object>>> itemIndex = new HashMap<>();
+            Map<String, Set<String>> namesByDinnerId = new HashMap<>();
+            Set<String> seenIds = new HashSet<>();
+            List<Map<String, Object>> keptItems = new ArrayList<>();
+            int idDuplicates = 0;
+            int nameDuplicates = 0;
+            for (Map<String, Object> item : freeze(menuItemRows)) {
+                String itemId = (String) item.get("id");
+                String itemName = (String) item.get("name");
+                if (itemId == null || itemId.isEmpty() || itemName == null || itemName.isEmpty()) {
+                    continue;
+                }
+                if (!seenIds.add(itemId)) {
+                    idDuplicates++;
+                    continue;
+                }
+                String dinnerId = (String) item.get("dinner_id");
+                if (!namesByDinnerId.computeIfAbsent(dinnerId, k -> new HashSet<>()).add(itemName)) {
+                    nameDuplicates++;
+                    continue;
+                }
+                itemIndex.computeIfAbsent(dinnerId, k -> new ArrayList<>()).add(item);
+                keptItems.add(item);
+            }
+            itemIndex.replaceAll((dinnerId, items) -> Collections.unmodifiableList(items));
+            this.menuItemsByDinnerId = Collections.unmodifiableMap(itemIndex);
+            this.duplicateIds = idDuplicates;
+            this.duplicateNames = nameDuplicates;
+
+            // 내용이 같으면 다시 읽어도 같은 버전 (행 삭제처럼 updated_at이 그대로인 변경도 반영)
+            long updatedAtMillis = lastUpdatedAt != null ? lastUpdatedAt.toEpochMilli() : 0L;
+            this.version = Long.toString(updatedAtMillis, 36) + "-" + digest(dinners, styles, keptItems);
+        }
+
+        /**
+         * 스냅샷을 읽은 순서 (나중에 읽은 스냅샷일수록 큼)
+         */
+        public long generation() {
+            return generation;
+        }
+
+        public Instant loadedAt() {
+            return loadedAt;
+        }
+
+        /**
+         * 카탈로그 행의 updated_at 최댓값 (카탈로그 버전)
+         */
+        public Instant lastUpdatedAt() {
+            return lastUpdatedAt;
+        }
+
+        /**
+         * 카탈로그 버전 (HTTP ETag 값으로 사용)
+         */
+        public String version() {
+            return version;
+        }
+
+        /**
+         * 스냅샷을 만들 때 제거한 중복 메뉴 항목 수 (같은 ID)
+         */
+        public int duplicateIds() {
+            return duplicateIds;
+        }
+
+        /**
+         * 스냅샷을 만들 때 제거한 중복 메뉴 항목 수 (같은 디너 안의 같은 이름)
+         */
+        public int duplicateNames() {
+            return duplicateNames;
+        }
+
+        public List<Map<String, Object>> dinners() {
+            return dinners;
+        }
+
+        public List<Map<String, Object>> styles() {
+            return styles;
+        }
+
+        /**
+         * 디너 조회 (UUID, DB 이름, 프론트엔드 / 한글 이름 모두 가능, 대소문자와 공백은 무시)
+         */
+        public Map<String, Object> findDinner(String idOrName) {
+            if (idOrName == null) {
+                return null;
+            }
+            Map<String, Object> dinner = dinnersByKey.get(idOrName);
+            return dinner != null ? dinner : dinnersByKey.get(key(idOrName));
+        }
+
+        /**
+         * 스타일 조회 (UUID, DB 이름, 한글 이름 모두 가능, 대소문자와 공백은 무시)
+         */
+        public Map<String, Object> findStyle(String idOrName) {
+            if (idOrName == null) {
+                return null;
+            }
+            Map<String, Object> style = stylesByKey.get(idOrName);
+            return style != null ? style : stylesByKey.get(key(idOrName));
+        }
+
+        /**
+         * 디너의 메뉴 항목 (중복 제거, 재료 이름/단위 포함, 디너를 찾지 못하면 빈 목록)
+         */
+        public List<Map<String, Object>> menuItems(String dinnerIdOrName) {
+            Map<String, Object> dinner = findDinner(dinnerIdOrName);
+            if (dinner == null) {
+                return List.of();
+            }
+            return menuItemsByDinnerId.getOrDefault((String) dinner.get("id"), List.of());
+        }
+
+        /**
+         * 이름 비교 키 ("French Dinner", "french dinner", "FrenchDinner"가 같은 키)
+         */
+        private static String key(String name) {
+            return name != null ? WHITESPACE.matcher(name).replaceAll("").toLowerCase(Locale.ROOT) : null;
+        }
+
+        /**
+         * 별칭 -> DB 이름을 DB 이름으로 찾은 행에 연결 (DB에 없는 이름의 별칭은 건너뜀)
+         */
+        private static void addAliases(Map<String, Map<String, Object>> index, Map<String, String> aliases) {
+            aliases.forEach((alias, name) -> {
+                Map<String, Object> row = index.get(key(name));
+                if (row != null) {
+                    index.putIfAbsent(key(alias), row);
+                }
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static List<Map<String, Object>> freeze(List<Map<String, Object>> rows) {
+            List<Map<String, Object>> frozen = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                if (row != null) {
+                    frozen.add((Map<String, Object>) deepFreeze(row));
+                }
+            }
+            return Collections.unmodifiableList(frozen);
+        }
+
+        /**
+         * 중첩된 Map / List (ingredients, available_styles 등)까지 변경 불가능한 복사본으로 바꿈
+         * 값에 null이 있을 수 있어서 Map.copyOf / List.copyOf 대신 unmodifiable 래퍼를 사용한다.
+         */
+        private static Object deepFreeze(Object value) {
+            if (value instanceof Map<?, ?> map) {
+                Map<Object, Object> copy = new LinkedHashMap<>();
+                map.forEach((key, nested) -> copy.put(key, deepFreeze(nested)));
+                return Collections.unmodifiableMap(copy);
+            }
+            if (value instanceof List<?> list) {
+                List<Object> copy = new ArrayList<>(list.size());
+                list.forEach(nested -> copy.add(deepFreeze(nested)));
+                return Collections.unmodifiableList(copy);
+            }
+            return value;
+        }
+
+        /**
+         * 스냅샷 내용의 SHA-256 다이제스트 (앞 96비트, ETag용)
+         */
+        private static String digest(List<?>... parts) {
+            try {
+                MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+                for (List<?> part : parts) {
+                    sha256.update(part.toString().getBytes(StandardCharsets.UTF_8));
+                    sha256.update((byte) 0);
+                }
+                return HexFormat.of().formatHex(sha256.digest(), 0, 12);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        private static Instant toInstant(Object timestamp) {
+            if (timestamp == null) {
+                return null;
+            }
+            try {
+                return OffsetDateTime.parse(timestamp.toString()).toInstant();
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        }
+
+        @SafeVarargs
+        private static Instant latestUpdate(List<Map<String, Object>>... tables) {
+            Instant latest = null;
+            for (List<Map<String, Object>> rows : tables) {
+                for (Map<String, Object> row : rows) {
+                    Instant updatedAt = row != null ? toInstant(row.get("updated_at")) : null;
+                    if (updatedAt != null && (latest == null || updatedAt.isAfter(latest))) {
+                        latest = updatedAt;
+                    }
+                }
+            }
+            return latest;
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.softdinner.service;
 
 import com.softdinner.dto.*;
-import com.softdinner.repository.MenuRepository;
 import lombok.extern.slf4j.*;
 import org.springframework.stereotype.*;
 
@@ -12,14 +11,18 @@ import java.util.stream.*;
 @Service
 public class MenuService {
 
-    private final MenuRepository menuRepository;
+    private final MenuCatalog menuCatalog;
 
-    public MenuService(MenuRepository menuRepository) {
-        this.menuRepository = menuRepository;
+    public MenuService(MenuCatalog menuCatalog) {
+        this.menuCatalog = menuCatalog;
     }
 
     public List<DinnerDTO> findAllDinners() {
-        List<Map<String, Object>> dinners = menuRepository.findAllDinners();
+        return findAllDinners(menuCatalog.current());
+    }
+
+    public List<DinnerDTO> findAllDinners(MenuCatalog.Snapshot catalog) {
+        List<Map<String, Object>> dinners = catalog.dinners();
         
         return dinners.stream()
                 .map(this::mapToDinnerDTO)
@@ -27,7 +30,11 @@ public class MenuService {
     }
 
     public DinnerDTO findDinnerById(String dinnerId) {
-        Map<String, Object> dinner = menuRepository.findDinnerById(dinnerId);
+        return findDinnerById(menuCatalog.current(), dinnerId);
+    }
+
+    public DinnerDTO findDinnerById(MenuCatalog.Snapshot catalog, String dinnerId) {
+        Map<String, Object> dinner = catalog.findDinner(dinnerId);
         
         if (dinner == null) {
             return null;
@@ -37,51 +44,34 @@ public class MenuService {
     }
 
     public List<MenuItemDTO> findMenuItemsByDinnerId(String dinnerId) {
-        List<Map<String, Object>> items = menuRepository.findMenuItemsByDinnerId(dinnerId);
-        
-        if (items == null || items.isEmpty()) {
-            return new ArrayList<>();
-        }
-        
-        // 중복 제거: 이름 기준으로 중복 제거 (같은 이름의 메뉴는 하나만 유지)
-        // 먼저 ID 기준으로 중복 제거, 그 다음 이름 기준으로 중복 제거
-        Map<String, MenuItemDTO> uniqueById = new LinkedHashMap<>();
-        Set<String> seenIds = new HashSet<>();
-        
-        // 1단계: ID 기준 중복 제거
-        for (Map<String, Object> item : items) {
-            if (item == null) continue;
-            
-            String itemId = (String) item.get("id");
-            if (itemId != null && !itemId.isEmpty() && !seenIds.contains(itemId)) {
-                seenIds.add(itemId);
-                uniqueById.put(itemId, mapToMenuItemDTO(item));
-            }
-        }
+        return findMenuItemsByDinnerId(menuCatalog.current(), dinnerId);
+    }
+
+    public List<MenuItemDTO> findMenuItemsByDinnerId(MenuCatalog.Snapshot catalog, String dinnerId) {
+        // 카탈로그 스냅샷의 메뉴 항목은 이미 ID / 이름 기준으로 중복이 제거되어 있음
+        List<Map<String, Object>> items = catalog.menuItems(dinnerId);
         
-        // 2단계: 이름 기준 중복 제거 (같은 이름이면 첫 번째 것만 유지)
-        Map<String, MenuItemDTO> uniqueByName = new LinkedHashMap<>();
-        Set<String> seenNames = new HashSet<>();
+        return items.stream()
+                .map(this::mapToMenuItemDTO)
+                .collect(Collectors.toList());
+    }
+
+    public StyleDTO findStyleById(String styleId) {
+        Map<String, Object> style = menuCatalog.current().findStyle(styleId);
         
-        for (MenuItemDTO item : uniqueById.values()) {
-            String itemName = item.getName();
-            if (itemName != null && !itemName.isEmpty() && !seenNames.contains(itemName)) {
-                seenNames.add(itemName);
-                uniqueByName.put(item.getId(), item);
-            } else if (itemName != null && seenNames.contains(itemName)) {
-                log.warn("중복된 메뉴 항목 이름 발견 (제거됨): dinner_id={}, name={}, id={}", 
-                        dinnerId, itemName, item.getId());
-            }
+        if (style == null) {
+            return null;
         }
         
-        log.debug("Menu items for dinner {}: total={}, unique_by_id={}, unique_by_name={}", 
-                dinnerId, items.size(), uniqueById.size(), uniqueByName.size());
-        
-        return new ArrayList<>(uniqueByName.values());
+        return mapToStyleDTO(style);
     }
 
     public List<StyleDTO> findAllStyles() {
-        List<Map<String, Object>> styles = menuRepository.findAllStyles();
+        return findAllStyles(menuCatalog.current());
+    }
+
+    public List<StyleDTO> findAllStyles(MenuCatalog.Snapshot catalog) {
+        List<Map<String, Object>> styles = catalog.styles();
         
         return styles.stream()
                 .map(this::mapToStyleDTO)
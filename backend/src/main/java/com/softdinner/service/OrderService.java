@@ -1,19 +1,22 @@
 package com.softdinner.service;
 
 import com.softdinner.dto.*;
-import com.softdinner.repository.CookingTaskRepository;
-import com.softdinner.repository.DeliveryTaskRepository;
-import com.softdinner.repository.MenuRepository;
 import com.softdinner.repository.OrderRepository;
+import com.softdinner.repository.page.Keyset;
+import com.softdinner.repository.page.Page;
+import com.softdinner.repository.row.OrderRow;
 import com.softdinner.service.LoyaltyService.LoyaltyUpdateResult;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -21,194 +24,75 @@ public class OrderService {
 
     private final OrderRepository orderRepository;
     private final LoyaltyService loyaltyService;
-    private final CookingTaskRepository cookingTaskRepository;
-    private final DeliveryTaskRepository deliveryTaskRepository;
-    private final MenuRepository menuRepository;
+    private final UserNameResolver userNameResolver;
+    private final MenuCatalog menuCatalog;
+
+    // 주문 내보내기에서 한 번에 읽는 주문 수
+    private static final int EXPORT_PAGE_SIZE = 500;
 
     public OrderService(
             OrderRepository orderRepository, 
             LoyaltyService loyaltyService,
-            CookingTaskRepository cookingTaskRepository,
-            DeliveryTaskRepository deliveryTaskRepository,
-            MenuRepository menuRepository
+            UserNameResolver userNameResolver,
+            MenuCatalog menuCatalog
     ) {
         this.orderRepository = orderRepository;
         this.loyaltyService = loyaltyService;
-        this.cookingTaskRepository = cookingTaskRepository;
-        this.deliveryTaskRepository = deliveryTaskRepository;
-        this.menuRepository = menuRepository;
+        this.userNameResolver = userNameResolver;
+        this.menuCatalog = menuCatalog;
     }
 
     /**
      * 주문 생성
      */
+    @SuppressWarnings("unchecked")
     public OrderResponseDTO createOrder(CreateOrderRequestDTO request, String userId) {
         try {
-            // 1. 사용자 정보 조회
-            Map<String, Object> user = orderRepository.getUserById(userId);
-            if (user == null) {
-                throw new RuntimeException("User not found");
-            }
-
-            String currentTier = (String) user.getOrDefault("loyalty_tier", "bronze");
-            Integer currentTotalOrders = ((Number) user.getOrDefault("total_orders", 0)).intValue();
-            BigDecimal currentTotalSpent = new BigDecimal(user.getOrDefault("total_spent", 0).toString());
-
-            // 2. 디너 및 스타일 정보 조회
-            Map<String, Object> dinner = orderRepository.getDinnerById(request.getDinnerId());
+            // 디너/스타일은 메뉴 카탈로그에서 UUID로 바꿔서 전달 (별칭 포함, 카탈로그에서 찾지 못하면 DB 함수를 호출하지 않음)
+            MenuCatalog.Snapshot catalog = menuCatalog.current();
+            Map<String, Object> dinner = catalog.findDinner(request.getDinnerId());
             if (dinner == null) {
-                throw new RuntimeException("Dinner not found");
+                throw new RuntimeException("Dinner not found: " + request.getDinnerId());
             }
-
-            Map<String, Object> style = orderRepository.getStyleById(request.getStyleId());
+            Map<String, Object> style = catalog.findStyle(request.getStyleId());
             if (style == null) {
-                throw new RuntimeException("Style not found");
-            }
-
-            // 3. 가격 계산
-            BigDecimal basePrice = new BigDecimal(dinner.get("base_price").toString());
-            BigDecimal stylePriceModifier = new BigDecimal(style.get("price_modifier").toString());
-            
-            // 커스터마이징 추가 가격 계산 (menu_items에서 계산)
-            BigDecimal customizationPrice = BigDecimal.ZERO;
-            if (request.getCustomizations() != null && !request.getCustomizations().isEmpty()) {
-                String dinnerIdForMenu = (String) dinner.get("id");
-                List<Map<String, Object>> menuItems = menuRepository.findMenuItemsByDinnerId(dinnerIdForMenu);
-                
-                // menu_items를 Map으로 변환 (빠른 조회를 위해)
-                Map<String, Map<String, Object>> menuItemMap = new HashMap<>();
-                for (Map<String, Object> item : menuItems) {
-                    String itemId = (String) item.get("id");
-                    if (itemId != null) {
-                        menuItemMap.put(itemId, item);
-                    }
-                }
-                
-                // 커스터마이징 가격 계산 (기본 수량 제외, 추가/감소분 반영)
-                for (Map.Entry<String, Integer> entry : request.getCustomizations().entrySet()) {
-                    String menuItemId = entry.getKey();
-                    Integer currentQuantity = entry.getValue();
-                    
-                    Map<String, Object> menuItem = menuItemMap.get(menuItemId);
-                    if (menuItem != null) {
-                        // 기본 수량 가져오기
-                        Object defaultQuantityObj = menuItem.get("default_quantity");
-                        Integer defaultQuantity = defaultQuantityObj != null ? 
-                            Integer.parseInt(defaultQuantityObj.toString()) : 0;
-                        
-                        // 기본 수량과의 차이 계산 (추가분은 더하고, 감소분은 빼기)
-                        int quantityDiff = currentQuantity - defaultQuantity;
-                        
-                        if (quantityDiff != 0) {
-                            Object additionalPriceObj = menuItem.get("additional_price");
-                            if (additionalPriceObj != null) {
-                                BigDecimal additionalPrice = new BigDecimal(additionalPriceObj.toString());
-                                BigDecimal itemTotal = additionalPrice.multiply(new BigDecimal(quantityDiff));
-                                customizationPrice = customizationPrice.add(itemTotal);
-                            }
-                        }
-                    }
-                }
+                throw new RuntimeException("Style not found: " + request.getStyleId());
             }
 
-            BigDecimal subtotal = basePrice.add(stylePriceModifier).add(customizationPrice);
-
-            // 4. 단골 할인 계산
-            BigDecimal discountRate = loyaltyService.getDiscountRateByTier(currentTier);
-            BigDecimal discountAmount = subtotal.multiply(discountRate).setScale(2, RoundingMode.HALF_UP);
-            BigDecimal finalPrice = subtotal.subtract(discountAmount);
-
-            // 5. 주문 데이터 구성
-            Map<String, Object> orderItems = new HashMap<>();
-            // dinner와 style에서 실제 UUID 가져오기
-            orderItems.put("dinner_id", dinner.get("id")); // 실제 UUID 사용
-            orderItems.put("dinner_name", dinner.get("name"));
-            orderItems.put("style_id", style.get("id")); // 실제 UUID 사용
-            orderItems.put("style_name", style.get("name"));
-            orderItems.put("customizations", request.getCustomizations() != null ? request.getCustomizations() : Map.of());
-            // 주문 시점의 등급 정보 저장 (나중에 주문 완료 페이지에서 표시용)
-            orderItems.put("loyalty_tier", currentTier);
-            orderItems.put("discount_rate", discountRate.doubleValue());
-
-            Map<String, Object> orderData = new HashMap<>();
-            orderData.put("user_id", userId);
+            // 1. 가격 계산, 주문 저장, 요리/배달 작업 생성, 사용자 통계/단골 등급 갱신 (DB 함수 한 번 호출 = 한 트랜잭션)
             // Instant를 ISO 8601 문자열로 변환 (Supabase가 TIMESTAMP WITH TIME ZONE을 기대)
             String deliveryDateStr = request.getDeliveryDate().atZone(ZoneId.systemDefault()).toInstant().toString();
-            orderData.put("delivery_date", deliveryDateStr);
-            orderData.put("delivery_address", request.getDeliveryAddress());
-            orderData.put("order_items", orderItems);
-            // BigDecimal을 문자열로 변환 (Supabase DECIMAL 타입이 문자열을 기대할 수 있음)
-            orderData.put("total_price", subtotal.toString());
-            orderData.put("discount_applied", discountAmount.toString());
-            orderData.put("final_price", finalPrice.toString());
-            orderData.put("payment_status", "completed"); // 간단한 버전에서는 바로 완료 처리
-            orderData.put("delivery_status", "pending");
-            orderData.put("cooking_status", "waiting");
-            
-            log.debug("Creating order with data: {}", orderData);
-
-            // 6. 주문 저장
-            Map<String, Object> savedOrder = orderRepository.createOrder(orderData);
-            if (savedOrder == null) {
+            Map<String, Object> placed = orderRepository.placeOrder(new OrderRepository.PlaceOrderCommand(
+                    userId,
+                    (String) dinner.get("id"),
+                    (String) style.get("id"),
+                    request.getCustomizations() != null ? request.getCustomizations() : Map.of(),
+                    deliveryDateStr,
+                    request.getDeliveryAddress()
+            ));
+            if (placed == null || placed.get("order") == null) {
                 throw new RuntimeException("Failed to create order");
             }
 
+            Map<String, Object> savedOrder = (Map<String, Object>) placed.get("order");
             String orderId = (String) savedOrder.get("id");
-
-            // 6-1. 요리 작업 생성 (첫 번째 staff 사용자에게 할당)
-            try {
-                String staffId = orderRepository.getFirstStaffUserId();
-                if (staffId != null) {
-                    Map<String, Object> cookingTaskData = new HashMap<>();
-                    cookingTaskData.put("order_id", orderId);
-                    cookingTaskData.put("staff_id", staffId);
-                    cookingTaskData.put("status", "waiting");
-                    
-                    cookingTaskRepository.createCookingTask(cookingTaskData);
-                    log.info("Cooking task created for order {} assigned to staff {}", orderId, staffId);
-                } else {
-                    log.warn("No staff user found, cooking task not created for order {}", orderId);
-                }
-            } catch (Exception e) {
-                log.warn("Failed to create cooking task for order {}: {}", orderId, e.getMessage());
-                // 요리 작업 생성 실패해도 주문은 계속 진행
-            }
-
-            // 6-2. 배달 작업 생성 (요리 완료 후 배달 가능, 일단 주문 생성 시 함께 생성)
-            try {
-                String staffId = orderRepository.getFirstStaffUserId();
-                if (staffId != null) {
-                    Map<String, Object> deliveryTaskData = new HashMap<>();
-                    deliveryTaskData.put("order_id", orderId);
-                    deliveryTaskData.put("staff_id", staffId);
-                    deliveryTaskData.put("customer_address", request.getDeliveryAddress());
-                    deliveryTaskData.put("status", "pending");
-                    
-                    deliveryTaskRepository.createDeliveryTask(deliveryTaskData);
-                    log.info("Delivery task created for order {} assigned to staff {}", orderId, staffId);
-                } else {
-                    log.warn("No staff user found, delivery task not created for order {}", orderId);
-                }
-            } catch (Exception e) {
-                log.warn("Failed to create delivery task for order {}: {}", orderId, e.getMessage());
-                // 배달 작업 생성 실패해도 주문은 계속 진행
+            if (placed.get("staff_id") == null) {
+                log.warn("No staff user found, cooking/delivery tasks not created for order {}", orderId);
             }
 
-            // 7. 사용자 통계 업데이트
-            int newTotalOrders = currentTotalOrders + 1;
-            BigDecimal newTotalSpent = currentTotalSpent.add(finalPrice);
+            // 2. 주문 시점 등급 기준으로 계산된 가격/할인
+            String currentTier = (String) placed.get("previous_tier");
+            BigDecimal discountRate = new BigDecimal(placed.get("discount_rate").toString());
+            BigDecimal subtotal = new BigDecimal(savedOrder.get("total_price").toString());
+            BigDecimal discountAmount = new BigDecimal(savedOrder.get("discount_applied").toString());
+            BigDecimal finalPrice = new BigDecimal(savedOrder.get("final_price").toString());
+            Map<String, Object> orderItems = (Map<String, Object>) savedOrder.get("order_items");
 
-            Map<String, Object> userUpdate = new HashMap<>();
-            userUpdate.put("total_orders", newTotalOrders);
-            userUpdate.put("total_spent", newTotalSpent);
+            // 3. 단골 등급 변경 결과
+            LoyaltyUpdateResult loyaltyUpdate = loyaltyService.tierChangeResult(
+                    userId, currentTier, (String) placed.get("loyalty_tier"));
 
-            orderRepository.updateUser(userId, userUpdate);
-
-            // 8. 단골 등급 업그레이드 확인
-            LoyaltyUpdateResult loyaltyUpdate = loyaltyService.updateLoyaltyTier(
-                    userId, newTotalOrders, newTotalSpent);
-
-            // 9. 응답 구성
+            // 4. 응답 구성
             OrderResponseDTO.DiscountInfoDTO discountInfo = OrderResponseDTO.DiscountInfoDTO.builder()
                     .tier(currentTier)
                     .discountRate(discountRate)
@@ -231,7 +115,7 @@ public class OrderService {
             }
 
             return OrderResponseDTO.builder()
-                    .id((String) savedOrder.get("id"))
+                    .id(orderId)
                     .userId(userId)
                     .orderDate(LocalDateTime.now())
                     .deliveryDate(request.getDeliveryDate())
@@ -255,156 +139,105 @@ public class OrderService {
     }
 
     /**
-     * 사용자의 주문 목록 조회
+     * 사용자의 주문 목록 조회 (최근순, cursor 다음 페이지)
      */
-    @SuppressWarnings("unchecked")
-    public List<OrderHistoryDTO> getUserOrders(String userId) {
-        try {
-            List<Map<String, Object>> orders = orderRepository.getUserOrders(userId);
-            log.debug("Retrieved {} orders for user {}", orders.size(), userId);
-            
-            return orders.stream().map(order -> {
-                log.debug("Processing order: {}", order.get("id"));
-                Map<String, Object> orderItems = (Map<String, Object>) order.get("order_items");
-                log.debug("Order items from DB: {}", orderItems);
-                
-                String dinnerName = orderItems != null ? (String) orderItems.get("dinner_name") : null;
-                String styleName = orderItems != null ? (String) orderItems.get("style_name") : null;
-                
-                log.debug("Extracted dinnerName: {}, styleName: {}", dinnerName, styleName);
-                
-                // LocalDateTime 변환 (Supabase에서 문자열로 반환됨)
-                LocalDateTime orderDate = null;
-                LocalDateTime deliveryDate = null;
-                if (order.get("order_date") != null) {
-                    Object orderDateObj = order.get("order_date");
-                    if (orderDateObj instanceof java.time.Instant) {
-                        orderDate = ((java.time.Instant) orderDateObj)
-                                .atZone(ZoneId.systemDefault())
-                                .toLocalDateTime();
-                    } else if (orderDateObj instanceof String) {
-                        // ISO 8601 문자열 파싱
-                        orderDate = java.time.Instant.parse((String) orderDateObj)
-                                .atZone(ZoneId.systemDefault())
-                                .toLocalDateTime();
-                    }
-                }
-                if (order.get("delivery_date") != null) {
-                    Object deliveryDateObj = order.get("delivery_date");
-                    if (deliveryDateObj instanceof java.time.Instant) {
-                        deliveryDate = ((java.time.Instant) deliveryDateObj)
-                                .atZone(ZoneId.systemDefault())
-                                .toLocalDateTime();
-                    } else if (deliveryDateObj instanceof String) {
-                        // ISO 8601 문자열 파싱
-                        deliveryDate = java.time.Instant.parse((String) deliveryDateObj)
-                                .atZone(ZoneId.systemDefault())
-                                .toLocalDateTime();
-                    }
-                }
-                
-                return OrderHistoryDTO.builder()
-                        .id((String) order.get("id"))
-                        .orderDate(orderDate)
-                        .deliveryDate(deliveryDate)
-                        .deliveryAddress((String) order.get("delivery_address"))
-                        .orderItems(orderItems)
-                        .totalPrice(new BigDecimal(order.get("total_price").toString()))
-                        .discountApplied(new BigDecimal(order.get("discount_applied").toString()))
-                        .finalPrice(new BigDecimal(order.get("final_price").toString()))
-                        .paymentStatus((String) order.get("payment_status"))
-                        .deliveryStatus((String) order.get("delivery_status"))
-                        .cookingStatus((String) order.get("cooking_status"))
-                        .dinnerName(dinnerName)
-                        .styleName(styleName)
-                        .build();
-            }).collect(java.util.stream.Collectors.toList());
-            
-        } catch (Exception e) {
-            log.error("Error getting user orders: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to get user orders: " + e.getMessage());
-        }
+    public Mono<Page<OrderHistoryDTO>> getUserOrders(String userId, String cursor, Integer limit) {
+        int size = Page.size(limit);
+        return Mono.defer(() -> orderRepository.getUserOrders(userId, Keyset.decode(cursor), size + 1).collectList())
+                .map(rows -> Page.of(rows, size, OrderService::keysetOf).map(order -> {
+                    log.debug("Processing order: {}", order.id());
+                    log.debug("Order items from DB: {}", order.orderItems());
+
+                    return OrderHistoryDTO.builder()
+                            .id(order.id())
+                            .orderDate(toLocalDateTime(order.orderDate()))
+                            .deliveryDate(toLocalDateTime(order.deliveryDate()))
+                            .deliveryAddress(order.deliveryAddress())
+                            .orderItems(order.orderItems())
+                            .totalPrice(order.totalPrice())
+                            .discountApplied(order.discountApplied())
+                            .finalPrice(order.finalPrice())
+                            .paymentStatus(order.paymentStatus())
+                            .deliveryStatus(order.deliveryStatus())
+                            .cookingStatus(order.cookingStatus())
+                            .dinnerName(order.dinnerName())
+                            .styleName(order.styleName())
+                            .build();
+                }))
+                .doOnNext(page -> log.debug("Retrieved {} orders for user {}", page.items().size(), userId))
+                .onErrorMap(e -> {
+                    log.error("Error getting user orders: {}", e.getMessage(), e);
+                    return new RuntimeException("Failed to get user orders: " + e.getMessage());
+                });
     }
 
     /**
-     * 모든 주문 목록 조회 (직원용)
+     * 모든 주문 목록 조회 (직원용, 최근순, cursor 다음 페이지)
      */
-    @SuppressWarnings("unchecked")
-    public List<OrderHistoryDTO> getAllOrders() {
-        try {
-            List<Map<String, Object>> orders = orderRepository.getAllOrders();
-            log.debug("Retrieved {} orders", orders.size());
-            
-            return orders.stream().map(order -> {
-                Map<String, Object> orderItems = (Map<String, Object>) order.get("order_items");
-                
-                String dinnerName = orderItems != null ? (String) orderItems.get("dinner_name") : null;
-                String styleName = orderItems != null ? (String) orderItems.get("style_name") : null;
-                
-                // 고객 정보 조회
-                String userId = (String) order.get("user_id");
-                String customerName = null;
-                if (userId != null) {
-                    try {
-                        Map<String, Object> user = orderRepository.getUserById(userId);
-                        if (user != null) {
-                            customerName = (String) user.get("full_name");
-                        }
-                    } catch (Exception e) {
-                        log.warn("Failed to fetch customer name for user {}: {}", userId, e.getMessage());
-                    }
-                }
-                
-                // LocalDateTime 변환
-                LocalDateTime orderDate = null;
-                LocalDateTime deliveryDate = null;
-                if (order.get("order_date") != null) {
-                    Object orderDateObj = order.get("order_date");
-                    if (orderDateObj instanceof java.time.Instant) {
-                        orderDate = ((java.time.Instant) orderDateObj)
-                                .atZone(ZoneId.systemDefault())
-                                .toLocalDateTime();
-                    } else if (orderDateObj instanceof String) {
-                        orderDate = java.time.Instant.parse((String) orderDateObj)
-                                .atZone(ZoneId.systemDefault())
-                                .toLocalDateTime();
-                    }
-                }
-                if (order.get("delivery_date") != null) {
-                    Object deliveryDateObj = order.get("delivery_date");
-                    if (deliveryDateObj instanceof java.time.Instant) {
-                        deliveryDate = ((java.time.Instant) deliveryDateObj)
-                                .atZone(ZoneId.systemDefault())
-                                .toLocalDateTime();
-                    } else if (deliveryDateObj instanceof String) {
-                        deliveryDate = java.time.Instant.parse((String) deliveryDateObj)
-                                .atZone(ZoneId.systemDefault())
-                                .toLocalDateTime();
-                    }
-                }
-                
-                return OrderHistoryDTO.builder()
-                        .id((String) order.get("id"))
-                        .orderDate(orderDate)
-                        .deliveryDate(deliveryDate)
-                        .deliveryAddress((String) order.get("delivery_address"))
-                        .orderItems(orderItems)
-                        .totalPrice(new BigDecimal(order.get("total_price").toString()))
-                        .discountApplied(new BigDecimal(order.get("discount_applied").toString()))
-                        .finalPrice(new BigDecimal(order.get("final_price").toString()))
-                        .paymentStatus((String) order.get("payment_status"))
-                        .deliveryStatus((String) order.get("delivery_status"))
-                        .cookingStatus((String) order.get("cooking_status"))
-                        .dinnerName(dinnerName)
-                        .styleName(styleName)
-                        .userId(userId)
-                        .customerName(customerName)
-                        .build();
-            }).collect(java.util.stream.Collectors.toList());
-        } catch (Exception e) {
-            log.error("Error getting all orders: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to get all orders: " + e.getMessage(), e);
-        }
+    public Mono<Page<OrderHistoryDTO>> getAllOrders(String cursor, Integer limit) {
+        int size = Page.size(limit);
+        // 고객 이름은 주문 목록을 받은 뒤 한 번에 조회 (같은 고객은 한 번만)
+        UserNameResolver.Lookup customerNames = userNameResolver.newLookup();
+        return Mono.defer(() -> orderRepository.getAllOrders(Keyset.decode(cursor), size + 1).collectList())
+                .map(rows -> Page.of(rows, size, OrderService::keysetOf))
+                .flatMap(page -> customerNames.resolve(page.items().stream().map(OrderRow::userId).collect(Collectors.toList()))
+                        .map(names -> page.map(order -> toStaffOrderHistory(order, names.get(order.userId())))))
+                .doOnNext(page -> log.debug("Retrieved {} orders", page.items().size()))
+                .onErrorMap(e -> {
+                    log.error("Error getting all orders: {}", e.getMessage(), e);
+                    return new RuntimeException("Failed to get all orders: " + e.getMessage(), e);
+                });
+    }
+
+    /**
+     * 모든 주문 내보내기 (직원용, 최근순)
+     * EXPORT_PAGE_SIZE개씩 키셋으로 이어 읽고 다 쓴 뒤에 다음 페이지를 읽으므로
+     * 메모리 사용량은 전체 주문 수와 관계없이 한두 페이지 분량이다.
+     * 고객 이름 조회기도 페이지마다 새로 만들어서 고객 수에 따라 커지지 않게 한다.
+     */
+    public Flux<OrderHistoryDTO> exportAllOrders() {
+        return fetchExportPage(null)
+                .expand(page -> page.nextCursor() != null
+                        ? fetchExportPage(Keyset.decode(page.nextCursor()))
+                        : Mono.empty())
+                .concatMap(page -> userNameResolver.newLookup().resolve(page.items().stream().map(OrderRow::userId).collect(Collectors.toList()))
+                        .flatMapIterable(names -> page.map(order -> toStaffOrderHistory(order, names.get(order.userId()))).items()),
+                        1)
+                .doOnError(e -> log.error("Error exporting orders: {}", e.getMessage(), e));
+    }
+
+    private Mono<Page<OrderRow>> fetchExportPage(Keyset after) {
+        return orderRepository.getAllOrders(after, EXPORT_PAGE_SIZE + 1)
+                .collectList()
+                .map(rows -> Page.of(rows, EXPORT_PAGE_SIZE, OrderService::keysetOf));
+    }
+
+    private OrderHistoryDTO toStaffOrderHistory(OrderRow order, String customerName) {
+        return OrderHistoryDTO.builder()
+                .id(order.id())
+                .orderDate(toLocalDateTime(order.orderDate()))
+                .deliveryDate(toLocalDateTime(order.deliveryDate()))
+                .deliveryAddress(order.deliveryAddress())
+                .orderItems(order.orderItems())
+                .totalPrice(order.totalPrice())
+                .discountApplied(order.discountApplied())
+                .finalPrice(order.finalPrice())
+                .paymentStatus(order.paymentStatus())
+                .deliveryStatus(order.deliveryStatus())
+                .cookingStatus(order.cookingStatus())
+                .dinnerName(order.dinnerName())
+                .styleName(order.styleName())
+                .userId(order.userId())
+                .customerName(customerName)
+                .build();
+    }
+
+    private static Keyset keysetOf(OrderRow order) {
+        return Keyset.of(order.orderDate(), order.id());
+    }
+
+    private LocalDateTime toLocalDateTime(OffsetDateTime value) {
+        return value != null ? value.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime() : null;
     }
 
     /**
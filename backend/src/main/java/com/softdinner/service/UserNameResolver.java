@@ -0,0 +1,80 @@
+package com.softdinner.service;
+
+import com.softdinner.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 사용자 이름 일괄 조회 (id=in.(...) 한 번에 최대 BATCH_SIZE명)
+ * 목록 화면에서 행마다 사용자를 조회하지 않도록, 요청마다 newLookup()으로 만든 Lookup을 사용한다.
+ */
+@Slf4j
+@Component
+public class UserNameResolver {
+
+    // in.(...) 필터가 URL 길이 제한을 넘지 않도록 나누는 단위
+    private static final int BATCH_SIZE = 100;
+
+    private final OrderRepository orderRepository;
+
+    public UserNameResolver(OrderRepository orderRepository) {
+        this.orderRepository = orderRepository;
+    }
+
+    /**
+     * 요청 하나 동안 사용할 조회기 (이미 조회한 사용자는 다시 조회하지 않음)
+     */
+    public Lookup newLookup() {
+        return new Lookup();
+    }
+
+    public class Lookup {
+
+        // 없는 사용자도 기억해서 다시 조회하지 않도록 Optional로 저장
+        private final Map<String, Optional<String>> memo = new ConcurrentHashMap<>();
+
+        private Lookup() {
+        }
+
+        /**
+         * id -> full_name (찾지 못했거나 조회에 실패한 사용자는 결과에서 빠짐)
+         */
+        public Mono<Map<String, String>> resolve(Collection<String> userIds) {
+            List<String> missing = userIds.stream()
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .filter(userId -> !memo.containsKey(userId))
+                    .collect(Collectors.toList());
+
+            return Flux.fromIterable(missing)
+                    .buffer(BATCH_SIZE)
+                    .concatMap(this::fetch)
+                    .then(Mono.fromSupplier(() -> {
+                        Map<String, String> names = new HashMap<>();
+                        for (String userId : userIds) {
+                            if (userId != null) {
+                                memo.getOrDefault(userId, Optional.empty())
+                                        .ifPresent(name -> names.put(userId, name));
+                            }
+                        }
+                        return names;
+                    }));
+        }
+
+        private Mono<Map<String, String>> fetch(List<String> batch) {
+            return orderRepository.findUserFullNames(batch)
+                    .doOnNext(names -> batch.forEach(userId ->
+                            memo.put(userId, Optional.ofNullable(names.get(userId)))))
+                    .onErrorResume(e -> {
+                        log.warn("Failed to fetch names for {} users: {}", batch.size(), e.getMessage());
+                        return Mono.empty();
+                    });
+        }
+    }
+}
@@ -320,73 +320,26 @@ public class VoiceOrderService {
         logger.info("🔍 JSON에서 추출: dinnerName={}, styleName={}, deliveryDate={}", 
                 dinnerName, styleName, deliveryDate);
         
-        // 한글 → 영어 디너 이름 매핑
-        dinnerName = mapKoreanToEnglishDinner(dinnerName);
-        logger.info("🔄 매핑 후 디너명: {}", dinnerName);
-        
-        // 디너 ID 찾기 (대소문자 무시, 부분 매칭 포함)
+        // 디너 ID 찾기 (메뉴 카탈로그 별칭 인덱스: 영어/한글 이름, 대소문자와 공백 무시)
         String dinnerId = null;
-        DinnerDTO selectedDinner = null;
-        if (dinnerName != null) {
-            List<DinnerDTO> dinners = menuService.findAllDinners();
-            logger.info("📋 사용 가능한 디너 목록:");
-            for (DinnerDTO dinner : dinners) {
-                logger.info("  - {}", dinner.getName());
-                // 정확한 매칭 (대소문자 무시)
-                if (dinner.getName().equalsIgnoreCase(dinnerName.trim())) {
-                    dinnerId = dinner.getId();
-                    selectedDinner = dinner;
-                    logger.info("✅ 디너 매칭 성공: {} -> {}", dinnerName, dinnerId);
-                    break;
-                }
-                // 부분 매칭 (공백 제거 후)
-                if (dinnerId == null && dinner.getName().replace(" ", "")
-                        .equalsIgnoreCase(dinnerName.replace(" ", "").trim())) {
-                    dinnerId = dinner.getId();
-                    selectedDinner = dinner;
-                    logger.info("✅ 디너 부분 매칭 성공: {} -> {}", dinnerName, dinnerId);
-                    break;
-                }
-            }
-            if (dinnerId == null) {
-                logger.error("❌ 디너 매칭 실패: {}", dinnerName);
-            }
+        DinnerDTO selectedDinner = dinnerName != null ? menuService.findDinnerById(dinnerName) : null;
+        if (selectedDinner != null) {
+            dinnerId = selectedDinner.getId();
+            logger.info("✅ 디너 매칭 성공: {} -> {}", dinnerName, dinnerId);
+            dinnerName = selectedDinner.getName();
+        } else if (dinnerName != null) {
+            logger.error("❌ 디너 매칭 실패: {}", dinnerName);
         }
         
-        // 한글 → 영어 스타일 이름 매핑
-        styleName = mapKoreanToEnglishStyle(styleName);
-        logger.info("🔄 매핑 후 스타일명: {}", styleName);
-        
-        // 스타일 ID 찾기 (대소문자 무시, 부분 매칭 포함)
+        // 스타일 ID 찾기 (메뉴 카탈로그 별칭 인덱스: 영어/한글 이름, 대소문자와 공백 무시)
         String styleId = null;
-        if (styleName != null) {
-            List<StyleDTO> styles = menuService.findAllStyles();
-            logger.info("📋 사용 가능한 스타일 목록:");
-            for (StyleDTO style : styles) {
-                logger.info("  - {}", style.getName());
-                // 정확한 매칭 (대소문자 무시)
-                if (style.getName().equalsIgnoreCase(styleName.trim())) {
-                    styleId = style.getId();
-                    logger.info("✅ 스타일 매칭 성공: {} -> {}", styleName, styleId);
-                    break;
-                }
-                // 부분 매칭 (공백 제거 후)
-                if (styleId == null && style.getName().replace(" ", "")
-                        .equalsIgnoreCase(styleName.replace(" ", "").trim())) {
-                    styleId = style.getId();
-                    logger.info("✅ 스타일 부분 매칭 성공: {} -> {}", styleName, styleId);
-                    break;
-                }
-                // "디럭스" vs "Deluxe" 등의 매칭
-                if (styleId == null && style.getName().toLowerCase().contains(styleName.toLowerCase().trim())) {
-                    styleId = style.getId();
-                    logger.info("✅ 스타일 포함 매칭 성공: {} -> {}", styleName, styleId);
-                    break;
-                }
-            }
-            if (styleId == null) {
-                logger.error("❌ 스타일 매칭 실패: {}", styleName);
-            }
+        StyleDTO selectedStyle = styleName != null ? menuService.findStyleById(styleName) : null;
+        if (selectedStyle != null) {
+            styleId = selectedStyle.getId();
+            logger.info("✅ 스타일 매칭 성공: {} -> {}", styleName, styleId);
+            styleName = selectedStyle.getName();
+        } else if (styleName != null) {
+            logger.error("❌ 스타일 매칭 실패: {}", styleName);
         }
         
         // 디너별 선택 가능한 스타일 검증
@@ -395,21 +348,11 @@ public class VoiceOrderService {
             if (availableStyles != null && !availableStyles.isEmpty()) {
                 boolean isStyleAvailable = false;
                 for (String availableStyle : availableStyles) {
-                    // 스타일 ID 또는 이름으로 비교
+                    // available_styles 값은 스타일 ID 또는 이름
                     if (availableStyle.equalsIgnoreCase(styleId) || availableStyle.equalsIgnoreCase(styleName)) {
                         isStyleAvailable = true;
                         break;
                     }
-                    // 스타일 이름으로도 확인
-                    List<StyleDTO> allStyles = menuService.findAllStyles();
-                    for (StyleDTO style : allStyles) {
-                        if (style.getId().equalsIgnoreCase(availableStyle) && 
-                            (style.getId().equalsIgnoreCase(styleId) || style.getName().equalsIgnoreCase(styleName))) {
-                            isStyleAvailable = true;
-                            break;
-                        }
-                    }
-                    if (isStyleAvailable) break;
                 }
                 
                 if (!isStyleAvailable) {
@@ -469,55 +412,6 @@ public class VoiceOrderService {
                 .build();
     }
 
-    /**
-     * 한글 디너명을 영어로 매핑
-     */
-    private String mapKoreanToEnglishDinner(String koreanName) {
-        if (koreanName == null) return null;
-        
-        String normalized = koreanName.trim();
-        
-        // 한글 → 영어 매핑
-        Map<String, String> mapping = new HashMap<>();
-        mapping.put("발렌타인 디너", "Valentine Dinner");
-        mapping.put("발렌타인디너", "Valentine Dinner");
-        mapping.put("프렌치 디너", "French Dinner");
-        mapping.put("프렌치디너", "French Dinner");
-        mapping.put("잉글리시 디너", "English Dinner");
-        mapping.put("잉글리시디너", "English Dinner");
-        mapping.put("영국 디너", "English Dinner");
-        mapping.put("영국디너", "English Dinner");
-        mapping.put("샴페인 축제 디너", "Champagne Feast");
-        mapping.put("샴페인축제디너", "Champagne Feast");
-        mapping.put("샴페인 디너", "Champagne Feast");
-        mapping.put("샴페인디너", "Champagne Feast");
-        
-        return mapping.getOrDefault(normalized, normalized);
-    }
-    
-    /**
-     * 한글 스타일명을 영어로 매핑
-     */
-    private String mapKoreanToEnglishStyle(String koreanName) {
-        if (koreanName == null) return null;
-        
-        String normalized = koreanName.trim();
-        
-        // 한글 → 영어 매핑
-        Map<String, String> mapping = new HashMap<>();
-        mapping.put("심플 스타일", "simple");
-        mapping.put("심플스타일", "simple");
-        mapping.put("심플", "simple");
-        mapping.put("그랜드 스타일", "grand");
-        mapping.put("그랜드스타일", "grand");
-        mapping.put("그랜드", "grand");
-        mapping.put("디럭스 스타일", "deluxe");
-        mapping.put("디럭스스타일", "deluxe");
-        mapping.put("디럭스", "deluxe");
-        
-        return mapping.getOrDefault(normalized, normalized);
-    }
-
     private String formatCurrency(Double value) {
         if (value == null) {
             return "0";
@@ -0,0 +1,175 @@
+package com.softdinner.benchmark;
+
+import com.fasterxml.jackson.databind.*;
+import com.softdinner.controller.menu.MenuResponses;
+import com.softdinner.repository.MenuRepository;
+import com.softdinner.service.MenuCatalog;
+import com.softdinner.service.MenuService;
+import io.micrometer.core.instrument.simple.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+import java.io.*;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.*;
+
+/**
+ * 메뉴 목록 응답: 요청마다 DTO 변환 + 직렬화 vs 카탈로그 버전별로 미리 직렬화한 바이트
+ * 실행: mvn -B -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ *       java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.softdinner.benchmark.MenuResponseBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MenuResponseBenchmark {
+
+    @Param({"10", "50"})
+    int dinnerCount;
+
+    // 디너 하나당 메뉴 항목 수
+    @Param({"12"})
+    int itemsPerDinner;
+
+    private ObjectMapper objectMapper;
+    private MenuService menuService;
+    private MenuResponses menuResponses;
+    private MenuCatalog.Snapshot catalog;
+    private String dinnerId;
+
+    @Setup
+    public void setUp() {
+        MenuCatalog menuCatalog = new MenuCatalog(new InMemoryMenuRepository(dinnerCount, itemsPerDinner),
+                new SimpleMeterRegistry(), 600);
+        objectMapper = new ObjectMapper();
+        menuService = new MenuService(menuCatalog);
+        menuResponses = new MenuResponses(menuService, objectMapper);
+        catalog = menuCatalog.current();
+        dinnerId = (String) catalog.dinners().get(dinnerCount / 2).get("id");
+    }
+
+    @Benchmark
+    public byte[] dinnersSerializedPerRequest() throws IOException {
+        return objectMapper.writeValueAsBytes(menuService.findAllDinners(catalog));
+    }
+
+    @Benchmark
+    public byte[] dinnersGzippedPerRequest() throws IOException {
+        return gzip(objectMapper.writeValueAsBytes(menuService.findAllDinners(catalog)));
+    }
+
+    @Benchmark
+    public byte[] dinnersPreSerialized() {
+        return menuResponses.dinners(catalog).json();
+    }
+
+    @Benchmark
+    public byte[] dinnersPreGzipped() {
+        return menuResponses.dinners(catalog).gzip();
+    }
+
+    @Benchmark
+    public byte[] menuItemsSerializedPerRequest() throws IOException {
+        return objectMapper.writeValueAsBytes(menuService.findMenuItemsByDinnerId(catalog, dinnerId));
+    }
+
+    @Benchmark
+    public byte[] menuItemsPreSerialized() {
+        return menuResponses.menuItems(catalog, dinnerId).json();
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        }
+        return compressed.toByteArray();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MenuResponseBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    /**
+     * PostgREST 대신 고정된 카탈로그 행을 돌려주는 저장소
+     */
+    private static final class InMemoryMenuRepository extends MenuRepository {
+
+        private final List<Map<String, Object>> dinners = new ArrayList<>();
+        private final List<Map<String, Object>> styles = new ArrayList<>();
+        private final List<Map<String, Object>> menuItems = new ArrayList<>();
+
+        InMemoryMenuRepository(int dinnerCount, int itemsPerDinner) {
+            super(null);
+            String updatedAt = "2024-01-01T00:00:00+00:00";
+            for (String style : List.of("simple", "grand", "deluxe")) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("id", UUID.nameUUIDFromBytes(style.getBytes()).toString());
+                row.put("name", style);
+                row.put("price_modifier", 5000);
+                row.put("details", style + " style");
+                row.put("updated_at", updatedAt);
+                styles.add(row);
+            }
+            for (int d = 0; d < dinnerCount; d++) {
+                String id = UUID.nameUUIDFromBytes(("dinner-" + d).getBytes()).toString();
+                Map<String, Object> dinner = new LinkedHashMap<>();
+                dinner.put("id", id);
+                dinner.put("name", "Dinner " + d);
+                dinner.put("base_price", 48000 + d * 1000);
+                dinner.put("description", "A dinner course with several dishes and a dessert, number " + d);
+                dinner.put("available_styles", List.of("simple", "grand", "deluxe"));
+                dinner.put("image_url", "https://example.com/images/dinner-" + d + ".jpg");
+                dinner.put("is_available", true);
+                dinner.put("updated_at", updatedAt);
+                dinners.add(dinner);
+                for (int i = 0; i < itemsPerDinner; i++) {
+                    Map<String, Object> item = new LinkedHashMap<>();
+                    item.put("id", UUID.nameUUIDFromBytes((id + "-item-" + i).getBytes()).toString());
+                    item.put("dinner_id", id);
+                    item.put("name", "item " + i);
+                    item.put("default_quantity", 1);
+                    item.put("unit", "개");
+                    item.put("additional_price", 1000);
+                    item.put("is_required", i == 0);
+                    item.put("can_remove", i != 0);
+                    item.put("can_increase", true);
+                    item.put("can_decrease", true);
+                    item.put("max_quantity", 5);
+                    item.put("min_quantity", 0);
+                    item.put("ingredient_id", null);
+                    item.put("updated_at", updatedAt);
+                    menuItems.add(item);
+                }
+            }
+        }
+
+        @Override
+        public List<Map<String, Object>> findAllDinners() {
+            return dinners;
+        }
+
+        @Override
+        public List<Map<String, Object>> findAllStyles() {
+            return styles;
+        }
+
+        @Override
+        public List<Map<String, Object>> findAllMenuItems() {
+            return menuItems;
+        }
+
+        @Override
+        public Instant findLastUpdatedAt() {
+            return Instant.parse("2024-01-01T00:00:00Z");
+        }
+    }
+}
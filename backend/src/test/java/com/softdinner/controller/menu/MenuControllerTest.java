@@ -0,0 +1,85 @@
+package com.softdinner.controller.menu;
+
+import com.fasterxml.jackson.databind.*;
+import com.softdinner.repository.MenuRepository;
+import com.softdinner.service.MenuCatalog;
+import com.softdinner.service.MenuService;
+import io.micrometer.core.instrument.simple.*;
+import org.junit.jupiter.api.*;
+import org.springframework.http.*;
+import org.springframework.test.web.servlet.*;
+import org.springframework.test.web.servlet.setup.*;
+
+import java.util.*;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class MenuControllerTest {
+
+    private static final String DINNER_ID = "aaaaaaaa-0000-4000-8000-000000000001";
+
+    private MenuRepository menuRepository;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        menuRepository = mock(MenuRepository.class);
+        when(menuRepository.findAllDinners()).thenReturn(List.of(row(
+                "id", DINNER_ID,
+                "name", "French Dinner",
+                "base_price", 48000,
+                "available_styles", List.of("simple", "grand"),
+                "is_available", true,
+                "updated_at", "2024-01-01T00:00:00+00:00")));
+        when(menuRepository.findAllStyles()).thenReturn(List.of(row(
+                "id", "bbbbbbbb-0000-4000-8000-000000000001",
+                "name", "simple",
+                "price_modifier", 0,
+                "updated_at", "2024-01-02T00:00:00+00:00")));
+        when(menuRepository.findAllMenuItems()).thenReturn(List.of());
+
+        MenuCatalog menuCatalog = new MenuCatalog(menuRepository, new SimpleMeterRegistry(), 600);
+        MenuService menuService = new MenuService(menuCatalog);
+        MenuResponses menuResponses = new MenuResponses(menuService, new ObjectMapper());
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new MenuController(menuService, menuCatalog, menuResponses, 60, 600))
+                .build();
+    }
+
+    @Test
+    void matchingETagReturnsNotModifiedWithoutTouchingRepository() throws Exception {
+        String etag = mockMvc.perform(get("/api/menus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        clearInvocations(menuRepository);
+
+        mockMvc.perform(get("/api/menus").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        verifyNoInteractions(menuRepository);
+    }
+
+    @Test
+    void unknownDinnerIsNotFoundWithoutCacheHeaders() throws Exception {
+        String etag = mockMvc.perform(get("/api/menus/" + DINNER_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/menus/unknown").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(header().doesNotExist(HttpHeaders.CACHE_CONTROL));
+    }
+
+    private static Map<String, Object> row(Object... keyValues) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            row.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,45 @@
+package com.softdinner.repository.jdbc;
+
+import org.junit.jupiter.params.*;
+import org.junit.jupiter.params.provider.*;
+
+import java.lang.reflect.*;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * persistence=jdbc에서는 Jdbc*Repository가 @Primary로 PostgREST 저장소를 대신하므로,
+ * 부모의 public 메서드를 하나라도 재정의하지 않으면 그 호출만 조용히 PostgREST로 간다.
+ * 저장소에 메서드를 추가하면 JDBC 구현도 같이 추가해야 이 테스트가 통과한다.
+ */
+class JdbcRepositoryOverridesTest {
+
+    @ParameterizedTest
+    @ValueSource(classes = {
+            JdbcOrderRepository.class,
+            JdbcMenuRepository.class,
+            JdbcIngredientRepository.class,
+            JdbcCookingTaskRepository.class,
+            JdbcDeliveryTaskRepository.class
+    })
+    void overridesEveryPublicRepositoryMethod(Class<?> jdbcRepository) {
+        Class<?> repository = jdbcRepository.getSuperclass();
+
+        List<String> missing = new ArrayList<>();
+        for (Method method : repository.getDeclaredMethods()) {
+            if (!Modifier.isPublic(method.getModifiers()) || Modifier.isStatic(method.getModifiers()) || method.isSynthetic()) {
+                continue;
+            }
+            try {
+                jdbcRepository.getDeclaredMethod(method.getName(), method.getParameterTypes());
+            } catch (NoSuchMethodException e) {
+                missing.add(method.toGenericString());
+            }
+        }
+
+        assertThat(missing)
+                .as("%s methods not overridden by %s", repository.getSimpleName(), jdbcRepository.getSimpleName())
+                .isEmpty();
+    }
+}
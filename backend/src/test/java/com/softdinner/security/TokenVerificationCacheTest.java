@@ -0,0 +1,58 @@
+package com.softdinner.security;
+
+import com.fasterxml.jackson.databind.*;
+import io.micrometer.core.instrument.simple.*;
+import org.junit.jupiter.api.*;
+
+import java.nio.charset.*;
+import java.time.*;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TokenVerificationCacheTest {
+
+    private SupabaseJwtVerifier verifier;
+    private TokenVerificationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        verifier = mock(SupabaseJwtVerifier.class);
+        cache = new TokenVerificationCache(verifier, new ObjectMapper(), new SimpleMeterRegistry(),
+                100, 10, 30, 100, 30);
+    }
+
+    @Test
+    void rejectedTokenIsNotVerifiedAgain() {
+        String token = token();
+        when(verifier.verify(token)).thenReturn(null);
+
+        assertThat(cache.verify(token)).isNull();
+        assertThat(cache.verify(token)).isNull();
+
+        verify(verifier, times(1)).verify(token);
+    }
+
+    @Test
+    void unavailableVerificationIsNotRemembered() {
+        String token = token();
+        VerifiedToken verifiedToken = new VerifiedToken("user-1", Instant.now().plusSeconds(3600), Map.of());
+        when(verifier.verify(token))
+                .thenThrow(new SupabaseJwtVerifier.VerificationUnavailableException("Supabase unavailable", null))
+                .thenReturn(verifiedToken);
+
+        assertThat(cache.verify(token)).isNull();
+        assertThat(cache.verify(token)).isSameAs(verifiedToken);
+
+        verify(verifier, times(2)).verify(token);
+    }
+
+    private static String token() {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        long exp = Instant.now().plusSeconds(3600).getEpochSecond();
+        String header = encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8));
+        String payload = encoder.encodeToString(("{\"sub\":\"user-1\",\"exp\":" + exp + "}").getBytes(StandardCharsets.UTF_8));
+        return header + "." + payload + ".c2lnbmF0dXJl";
+    }
+}
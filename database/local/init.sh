@@ -0,0 +1,21 @@
+#!/bin/sh
+# Local PostgreSQL setup for PERSISTENCE_BACKEND=jdbc
+# Run by the postgres image on first start (docker compose --profile local-db up postgres)
+# or manually: PGHOST=localhost PGUSER=postgres PGDATABASE=softdinner ./database/local/init.sh
+set -e
+
+DB_DIR="${SOFTDINNER_DB_DIR:-$(cd "$(dirname "$0")/.." && pwd)}"
+PSQL="psql -v ON_ERROR_STOP=1 --username ${POSTGRES_USER:-${PGUSER:-postgres}} --dbname ${POSTGRES_DB:-${PGDATABASE:-softdinner}}"
+
+# Supabase provides the auth schema; 015_create_rls_policies.sql only needs auth.uid()
+$PSQL <<'SQL'
+CREATE SCHEMA IF NOT EXISTS auth;
+CREATE OR REPLACE FUNCTION auth.uid() RETURNS UUID
+  LANGUAGE sql STABLE
+  AS $$ SELECT NULLIF(current_setting('request.jwt.claim.sub', true), '')::uuid $$;
+SQL
+
+for f in "$DB_DIR"/migrations/*.sql "$DB_DIR"/seeds/*.sql; do
+  echo "Applying $(basename "$f")"
+  $PSQL -f "$f"
+done
@@ -0,0 +1,31 @@
+-- Add composite indexes for keyset pagination
+-- List APIs page with ORDER BY timestamp DESC, id DESC LIMIT n after the cursor row:
+--   JDBC:      (timestamp, id) < (cursor)
+--   PostgREST: timestamp <= cursor AND (timestamp < cursor OR (timestamp = cursor AND id < cursor id))
+-- The JDBC row comparison is the index condition itself. For PostgREST the timestamp <= cursor bound is
+-- the index condition and the OR only filters ties at the cursor timestamp (without that bound Postgres
+-- walks the index from the newest row and filters everything above the cursor).
+-- Either way each page is an index range scan starting at the cursor instead of a sort over the whole history
+
+-- The sort columns must never be NULL: a NULL sorts first under DESC, never compares below a cursor
+-- and cannot be encoded in one, so paging would silently skip those rows
+UPDATE orders SET order_date = COALESCE(created_at, NOW()) WHERE order_date IS NULL;
+ALTER TABLE orders ALTER COLUMN order_date SET NOT NULL;
+UPDATE cooking_tasks SET created_at = NOW() WHERE created_at IS NULL;
+ALTER TABLE cooking_tasks ALTER COLUMN created_at SET NOT NULL;
+UPDATE delivery_tasks SET created_at = NOW() WHERE created_at IS NULL;
+ALTER TABLE delivery_tasks ALTER COLUMN created_at SET NOT NULL;
+UPDATE ingredient_logs SET created_at = NOW() WHERE created_at IS NULL;
+ALTER TABLE ingredient_logs ALTER COLUMN created_at SET NOT NULL;
+
+-- orders: customer order history (user_id filter) and staff order list
+CREATE INDEX IF NOT EXISTS idx_orders_user_id_order_date_id ON orders(user_id, order_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_orders_order_date_id ON orders(order_date DESC, id DESC);
+
+-- cooking_tasks / delivery_tasks: per-staff task lists
+CREATE INDEX IF NOT EXISTS idx_cooking_tasks_staff_id_created_at_id ON cooking_tasks(staff_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_delivery_tasks_staff_id_created_at_id ON delivery_tasks(staff_id, created_at DESC, id DESC);
+
+-- ingredient_logs: full audit log and per-ingredient log
+CREATE INDEX IF NOT EXISTS idx_ingredient_logs_created_at_id ON ingredient_logs(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_ingredient_logs_ingredient_id_created_at_id ON ingredient_logs(ingredient_id, created_at DESC, id DESC);
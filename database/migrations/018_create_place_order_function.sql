@@ -0,0 +1,156 @@
+-- Create place_order function
+-- Places an order in a single transaction (POST /rest/v1/rpc/place_order from the backend):
+-- prices the dinner/style/customizations, applies the customer's loyalty discount,
+-- inserts the order with its cooking/delivery tasks, updates users.total_orders/total_spent
+-- and the loyalty tier (loyalty_tiers.min_orders), and records tier changes in loyalty_history.
+-- Any failure rolls back the whole order, so no order is left without its tasks or totals.
+
+-- Korean tier name used in loyalty_history notes
+CREATE OR REPLACE FUNCTION loyalty_tier_label(p_tier TEXT)
+RETURNS TEXT
+LANGUAGE sql
+IMMUTABLE
+AS $$
+  SELECT CASE lower(p_tier)
+    WHEN 'bronze' THEN '브론즈'
+    WHEN 'silver' THEN '실버'
+    WHEN 'gold' THEN '골드'
+    WHEN 'platinum' THEN '플래티넘'
+    ELSE p_tier
+  END
+$$;
+
+CREATE OR REPLACE FUNCTION place_order(
+  p_user_id UUID,
+  p_dinner TEXT,
+  p_style TEXT,
+  p_delivery_date TIMESTAMP WITH TIME ZONE,
+  p_delivery_address TEXT,
+  p_customizations JSONB DEFAULT '{}'::jsonb
+)
+RETURNS JSONB
+LANGUAGE plpgsql
+AS $$
+DECLARE
+  v_user users%ROWTYPE;
+  v_dinner dinners%ROWTYPE;
+  v_style styles%ROWTYPE;
+  v_order orders%ROWTYPE;
+  v_customizations JSONB := COALESCE(p_customizations, '{}'::jsonb);
+  v_current_tier TEXT;
+  v_new_tier TEXT;
+  v_discount_rate NUMERIC;
+  v_customization_price NUMERIC;
+  v_subtotal NUMERIC;
+  v_discount NUMERIC;
+  v_total_orders INTEGER;
+  v_staff_id UUID;
+BEGIN
+  -- Lock the customer row so concurrent orders of the same customer update the totals one after another
+  SELECT * INTO v_user FROM users WHERE id = p_user_id FOR UPDATE;
+  IF NOT FOUND THEN
+    RAISE EXCEPTION 'User not found' USING ERRCODE = 'no_data_found';
+  END IF;
+
+  -- Dinner and style are passed either as id or as name
+  SELECT * INTO v_dinner FROM dinners WHERE id::text = p_dinner OR name = p_dinner LIMIT 1;
+  IF NOT FOUND THEN
+    RAISE EXCEPTION 'Dinner not found' USING ERRCODE = 'no_data_found';
+  END IF;
+
+  SELECT * INTO v_style FROM styles WHERE id::text = p_style OR name = p_style LIMIT 1;
+  IF NOT FOUND THEN
+    RAISE EXCEPTION 'Style not found' USING ERRCODE = 'no_data_found';
+  END IF;
+
+  -- Customizations ({menu_item_id: quantity}) add or subtract additional_price per unit away from default_quantity
+  SELECT COALESCE(SUM(((c.value)::integer - COALESCE(m.default_quantity, 0)) * m.additional_price), 0)
+    INTO v_customization_price
+    FROM jsonb_each_text(v_customizations) AS c(key, value)
+    JOIN menu_items m ON m.id::text = c.key AND m.dinner_id = v_dinner.id;
+
+  v_subtotal := v_dinner.base_price + v_style.price_modifier + v_customization_price;
+
+  -- Loyalty discount for the tier the customer has when ordering (loyalty_tiers.discount_rate is a percentage)
+  v_current_tier := COALESCE(v_user.loyalty_tier, 'bronze');
+  SELECT discount_rate / 100 INTO v_discount_rate FROM loyalty_tiers WHERE name = lower(v_current_tier);
+  v_discount_rate := COALESCE(v_discount_rate, 0);
+  v_discount := ROUND(v_subtotal * v_discount_rate, 2);
+
+  INSERT INTO orders (
+    user_id, delivery_date, delivery_address, order_items,
+    total_price, discount_applied, final_price,
+    payment_status, delivery_status, cooking_status
+  ) VALUES (
+    p_user_id, p_delivery_date, p_delivery_address,
+    jsonb_build_object(
+      'dinner_id', v_dinner.id,
+      'dinner_name', v_dinner.name,
+      'style_id', v_style.id,
+      'style_name', v_style.name,
+      'customizations', v_customizations,
+      'loyalty_tier', v_current_tier,
+      'discount_rate', v_discount_rate::float8
+    ),
+    v_subtotal, v_discount, v_subtotal - v_discount,
+    'completed', 'pending', 'waiting'
+  )
+  RETURNING * INTO v_order;
+
+  -- Cooking and delivery tasks go to the first staff user (no tasks when there is no staff yet)
+  SELECT id INTO v_staff_id FROM users WHERE role = 'staff' LIMIT 1;
+  IF v_staff_id IS NOT NULL THEN
+    INSERT INTO cooking_tasks (order_id, staff_id, status)
+      VALUES (v_order.id, v_staff_id, 'waiting');
+    INSERT INTO delivery_tasks (order_id, staff_id, customer_address, status)
+      VALUES (v_order.id, v_staff_id, p_delivery_address, 'pending');
+  END IF;
+
+  -- Customer totals and loyalty tier (highest tier whose min_orders is reached)
+  v_total_orders := COALESCE(v_user.total_orders, 0) + 1;
+  SELECT name INTO v_new_tier FROM loyalty_tiers
+    WHERE min_orders <= v_total_orders
+    ORDER BY min_orders DESC
+    LIMIT 1;
+  v_new_tier := COALESCE(v_new_tier, v_current_tier);
+
+  UPDATE users
+    SET total_orders = v_total_orders,
+        total_spent = COALESCE(total_spent, 0) + v_order.final_price,
+        loyalty_tier = v_new_tier
+    WHERE id = p_user_id;
+
+  IF v_new_tier <> v_current_tier THEN
+    INSERT INTO loyalty_history (user_id, action_type, previous_tier, new_tier, order_id, notes)
+      VALUES (
+        p_user_id, 'tier_upgrade', v_current_tier, v_new_tier, v_order.id,
+        format('%s 등급에서 %s 등급으로 업그레이드', loyalty_tier_label(v_current_tier), loyalty_tier_label(v_new_tier))
+      );
+  END IF;
+
+  RETURN jsonb_build_object(
+    'order', to_jsonb(v_order),
+    'staff_id', v_staff_id,
+    'previous_tier', v_current_tier,
+    'loyalty_tier', v_new_tier,
+    'discount_rate', v_discount_rate::float8
+  );
+END;
+$$;
+
+-- Orders are placed for any p_user_id, so only the backend (service role) may call it
+REVOKE ALL ON FUNCTION place_order(UUID, TEXT, TEXT, TIMESTAMP WITH TIME ZONE, TEXT, JSONB) FROM PUBLIC;
+
+DO $$
+BEGIN
+  IF EXISTS (SELECT 1 FROM pg_roles WHERE rolname = 'anon') THEN
+    REVOKE ALL ON FUNCTION place_order(UUID, TEXT, TEXT, TIMESTAMP WITH TIME ZONE, TEXT, JSONB) FROM anon;
+  END IF;
+  IF EXISTS (SELECT 1 FROM pg_roles WHERE rolname = 'authenticated') THEN
+    REVOKE ALL ON FUNCTION place_order(UUID, TEXT, TEXT, TIMESTAMP WITH TIME ZONE, TEXT, JSONB) FROM authenticated;
+  END IF;
+  IF EXISTS (SELECT 1 FROM pg_roles WHERE rolname = 'service_role') THEN
+    GRANT EXECUTE ON FUNCTION place_order(UUID, TEXT, TEXT, TIMESTAMP WITH TIME ZONE, TEXT, JSONB) TO service_role;
+  END IF;
+END
+$$;
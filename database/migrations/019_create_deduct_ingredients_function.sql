@@ -0,0 +1,77 @@
+-- Create deduct_ingredients function
+-- Deducts the ingredients used by an order in one statement (POST /rest/v1/rpc/deduct_ingredients from the backend).
+-- p_deductions: [{"ingredient_id": "...", "quantity": 1.5, "notes": "..."}, ...]
+-- Each ingredient is decremented in place (quantity = quantity - x) only while enough stock is left,
+-- so concurrent deductions never lose updates or go negative. Deducted ingredients get their
+-- ingredient_logs 'out' rows in the same statement; ingredients with too little stock are left untouched.
+-- Returns one row per requested ingredient with status deducted / insufficient / not_found.
+
+CREATE OR REPLACE FUNCTION deduct_ingredients(
+  p_order_id UUID,
+  p_staff_id UUID,
+  p_deductions JSONB
+)
+RETURNS TABLE (
+  ingredient_id UUID,
+  name TEXT,
+  unit TEXT,
+  quantity DECIMAL(10, 2),
+  previous_quantity DECIMAL(10, 2),
+  new_quantity DECIMAL(10, 2),
+  status TEXT
+)
+LANGUAGE sql
+AS $$
+  WITH requested AS (
+    SELECT (d->>'ingredient_id')::uuid AS ingredient_id,
+           SUM((d->>'quantity')::numeric) AS quantity,
+           string_agg(NULLIF(d->>'notes', ''), ', ') AS notes
+      FROM jsonb_array_elements(COALESCE(p_deductions, '[]'::jsonb)) AS d
+     GROUP BY 1
+  ),
+  deducted AS (
+    UPDATE ingredients i
+       SET quantity = i.quantity - r.quantity
+      FROM requested r
+     WHERE i.id = r.ingredient_id
+       AND i.quantity >= r.quantity
+    RETURNING i.id, r.quantity, i.quantity + r.quantity AS previous_quantity, i.quantity AS new_quantity, r.notes
+  ),
+  logged AS (
+    INSERT INTO ingredient_logs (ingredient_id, action, quantity, previous_quantity, new_quantity, staff_id, order_id, notes)
+    SELECT d.id, 'out', d.quantity, d.previous_quantity, d.new_quantity, p_staff_id, p_order_id, d.notes
+      FROM deducted d
+  )
+  -- ingredients here is the snapshot before the UPDATE, i.e. the current stock of skipped ingredients
+  SELECT r.ingredient_id,
+         i.name,
+         i.unit,
+         r.quantity,
+         COALESCE(d.previous_quantity, i.quantity),
+         COALESCE(d.new_quantity, i.quantity),
+         CASE
+           WHEN i.id IS NULL THEN 'not_found'
+           WHEN d.id IS NULL THEN 'insufficient'
+           ELSE 'deducted'
+         END
+    FROM requested r
+    LEFT JOIN ingredients i ON i.id = r.ingredient_id
+    LEFT JOIN deducted d ON d.id = r.ingredient_id
+$$;
+
+-- Only the backend (service role) may change stock
+REVOKE ALL ON FUNCTION deduct_ingredients(UUID, UUID, JSONB) FROM PUBLIC;
+
+DO $$
+BEGIN
+  IF EXISTS (SELECT 1 FROM pg_roles WHERE rolname = 'anon') THEN
+    REVOKE ALL ON FUNCTION deduct_ingredients(UUID, UUID, JSONB) FROM anon;
+  END IF;
+  IF EXISTS (SELECT 1 FROM pg_roles WHERE rolname = 'authenticated') THEN
+    REVOKE ALL ON FUNCTION deduct_ingredients(UUID, UUID, JSONB) FROM authenticated;
+  END IF;
+  IF EXISTS (SELECT 1 FROM pg_roles WHERE rolname = 'service_role') THEN
+    GRANT EXECUTE ON FUNCTION deduct_ingredients(UUID, UUID, JSONB) TO service_role;
+  END IF;
+END
+$$;